@@ -0,0 +1,56 @@
+package com.luxe.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCT_PAGES = "productPages";
+    public static final String CATEGORY_PAGES = "categoryPages";
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+
+    @Value("${app.cache.catalog.page-ttl:60s}")
+    private Duration pageTtl;
+
+    @Value("${app.cache.catalog.detail-ttl:5m}")
+    private Duration detailTtl;
+
+    // Page caches are weighed by the number of products they hold, not by the number of pages.
+    @Value("${app.cache.catalog.max-cached-page-products:5000}")
+    private long maxCachedPageProducts;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        cacheManager.registerCustomCache(PRODUCT_PAGES, pageCache());
+        cacheManager.registerCustomCache(CATEGORY_PAGES, pageCache());
+        cacheManager.registerCustomCache(PRODUCT_CATEGORIES, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(detailTtl)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> pageCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxCachedPageProducts)
+                .weigher((Object key, Object value) -> value instanceof Page<?> page ? Math.max(1, page.getNumberOfElements()) : 1)
+                .expireAfterWrite(pageTtl)
+                .recordStats()
+                .build();
+    }
+}
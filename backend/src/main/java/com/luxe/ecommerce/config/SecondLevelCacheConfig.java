@@ -0,0 +1,101 @@
+package com.luxe.ecommerce.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.cache.spi.CachingProvider;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache. Every region named by an
+ * entity, natural ID or collection mapping is created here with its own size; Hibernate is set to
+ * fail on any other region rather than create an unbounded one.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final List<String> REGIONS = List.of(
+            "product", "product-sku", "product-images", "product-image",
+            "user", "user-email",
+            "seller-profile", "seller-profile-user");
+
+    private static final String CACHE_MANAGER_TAG = "hibernate";
+    private static final long DEFAULT_MAX_ENTRIES = 10_000;
+    private static final AtomicInteger MANAGER_IDS = new AtomicInteger();
+
+    @Value("${app.l2-cache.ttl:30m}")
+    private Duration ttl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // The provider shares one manager per URI, so each application context gets its own
+        URI uri = URI.create("hibernate-l2-" + MANAGER_IDS.incrementAndGet());
+        CacheManager cacheManager = provider.getCacheManager(uri, provider.getDefaultClassLoader());
+
+        for (String region : REGIONS) {
+            long maxEntries = environment.getProperty(
+                    "app.l2-cache.regions." + region + ".max-entries", Long.class, DEFAULT_MAX_ENTRIES);
+            cacheManager.createCache(region, new CaffeineConfiguration<Object, Object>()
+                    .setMaximumSize(OptionalLong.of(maxEntries))
+                    .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                    .setStoreByValue(false)
+                    .setStatisticsEnabled(true));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Per-region {@code cache.gets}, {@code cache.puts} and {@code cache.evictions}, plus {@code cache.hit.ratio}.
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+                JCacheMetrics.monitor(registry, cache, Tags.of("cacheManager", CACHE_MANAGER_TAG));
+                Gauge.builder("cache.hit.ratio", statistics(cache), stats -> stats.getCacheHitPercentage() / 100)
+                        .tags("cache", region, "cacheManager", CACHE_MANAGER_TAG)
+                        .description("Share of lookups served from the second-level cache region")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static CacheStatisticsMXBean statistics(Cache<?, ?> cache) {
+        try {
+            ObjectName name = new ObjectName("javax.cache:type=CacheStatistics,CacheManager="
+                    + cache.getCacheManager().getURI() + ",Cache=" + cache.getName());
+            return JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, CacheStatisticsMXBean.class);
+        } catch (MalformedObjectNameException ex) {
+            throw new IllegalStateException("Invalid JMX name for cache region " + cache.getName(), ex);
+        }
+    }
+}
@@ -1,25 +1,23 @@
 package com.luxe.ecommerce.controller;
 
-import com.luxe.ecommerce.dto.ProductImportResult;
+import com.luxe.ecommerce.dto.ProductImportJobResponse;
+import com.luxe.ecommerce.dto.RescoreJobResponse;
 import com.luxe.ecommerce.dto.SellerDto;
-import com.luxe.ecommerce.model.Order;
-import com.luxe.ecommerce.model.ProductApprovalStatus;
-import com.luxe.ecommerce.model.Role;
-import com.luxe.ecommerce.model.SellerApprovalStatus;
-import com.luxe.ecommerce.repository.OrderRepository;
-import com.luxe.ecommerce.repository.ProductRepository;
-import com.luxe.ecommerce.repository.UserRepository;
+import com.luxe.ecommerce.service.CatalogRescoreService;
+import com.luxe.ecommerce.service.DashboardCounterService;
 import com.luxe.ecommerce.service.MarketplaceAdminService;
-import com.luxe.ecommerce.service.ProductCsvImportService;
+import com.luxe.ecommerce.service.ProductImportJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -29,24 +27,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final UserRepository userRepository;
-    private final ProductRepository productRepository;
-    private final OrderRepository orderRepository;
-    private final ProductCsvImportService productCsvImportService;
+    private final DashboardCounterService dashboardCounterService;
+    private final ProductImportJobService productImportJobService;
     private final MarketplaceAdminService marketplaceAdminService;
+    private final CatalogRescoreService catalogRescoreService;
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        return ResponseEntity.ok(Map.of(
-                "totalUsers", userRepository.count(),
-                "totalSellers", userRepository.countByRole(Role.SELLER),
-                "totalProducts", productRepository.countByActiveTrue(),
-                "pendingSellerApplications", marketplaceAdminService.getPendingSellerProfiles(PageRequest.of(0, 1)).getTotalElements(),
-                "pendingProductReviews", productRepository.countByApprovalStatus(ProductApprovalStatus.PENDING_REVIEW),
-                "totalOrders", orderRepository.count(),
-                "pendingOrders", orderRepository.countByStatus(Order.OrderStatus.PENDING),
-                "shippedOrders", orderRepository.countByStatus(Order.OrderStatus.SHIPPED),
-                "deliveredOrders", orderRepository.countByStatus(Order.OrderStatus.DELIVERED)));
+        return ResponseEntity.ok(dashboardCounterService.getStats());
     }
 
     @GetMapping("/reviews/sellers")
@@ -78,11 +66,36 @@ public class AdminController {
     }
 
     @PostMapping(value = "/products/import-csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ProductImportResult> importProducts(@RequestParam("file") MultipartFile file) {
-        try {
-            return ResponseEntity.ok(productCsvImportService.importProducts(file));
-        } catch (IllegalArgumentException ex) {
-            throw new ResponseStatusException(org.springframework.http.HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
-        }
+    public ResponseEntity<ProductImportJobResponse> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(productImportJobService.startImport(file, userDetails.getUsername()));
+    }
+
+    @GetMapping("/products/import-jobs/{id}")
+    public ResponseEntity<ProductImportJobResponse> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(productImportJobService.getJob(id));
+    }
+
+    @PostMapping("/products/import-jobs/{id}/cancel")
+    public ResponseEntity<ProductImportJobResponse> cancelImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(productImportJobService.cancelJob(id));
+    }
+
+    @PostMapping("/products/rescore")
+    public ResponseEntity<RescoreJobResponse> rescoreCatalog(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(catalogRescoreService.startRescore(userDetails.getUsername()));
+    }
+
+    @GetMapping("/products/rescore-jobs/{id}")
+    public ResponseEntity<RescoreJobResponse> getRescoreJob(@PathVariable Long id) {
+        return ResponseEntity.ok(catalogRescoreService.getJob(id));
+    }
+
+    @PostMapping("/products/rescore-jobs/{id}/cancel")
+    public ResponseEntity<RescoreJobResponse> cancelRescoreJob(@PathVariable Long id) {
+        return ResponseEntity.ok(catalogRescoreService.cancelJob(id));
     }
 }
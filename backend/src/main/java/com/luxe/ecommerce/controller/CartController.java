@@ -2,6 +2,7 @@ package com.luxe.ecommerce.controller;
 
 import com.luxe.ecommerce.dto.CartDto;
 import com.luxe.ecommerce.service.CartService;
+import com.luxe.ecommerce.service.InventoryReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 public class CartController {
 
     private final CartService cartService;
+    private final InventoryReservationService inventoryReservationService;
 
     @GetMapping
     public ResponseEntity<CartDto.CartResponse> getCart(@AuthenticationPrincipal UserDetails userDetails) {
@@ -35,6 +37,18 @@ public class CartController {
         return ResponseEntity.ok(cartService.updateCartItem(userDetails.getUsername(), itemId, quantity));
     }
 
+    @PatchMapping
+    public ResponseEntity<CartDto.CartResponse> applyOperations(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody CartDto.CartBatchRequest request) {
+        return ResponseEntity.ok(cartService.applyOperations(userDetails.getUsername(), request.getOperations()));
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<CartDto.ReservationResponse> reserveForCheckout(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(inventoryReservationService.reserveCart(userDetails.getUsername()));
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> clearCart(@AuthenticationPrincipal UserDetails userDetails) {
         cartService.clearCart(userDetails.getUsername());
@@ -1,7 +1,10 @@
 package com.luxe.ecommerce.controller;
 
+import com.luxe.ecommerce.dto.CursorPage;
 import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.service.OrderIdempotencyService;
 import com.luxe.ecommerce.service.OrderService;
+import com.luxe.ecommerce.service.OrderSummaryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,12 +21,22 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderSummaryService orderSummaryService;
 
     @PostMapping
     public ResponseEntity<OrderDto.OrderResponse> placeOrder(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderDto.CreateOrderRequest request) {
-        return ResponseEntity.ok(orderService.placeOrder(userDetails.getUsername(), request));
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(orderService.placeOrder(userDetails.getUsername(), request));
+        }
+
+        OrderIdempotencyService.Result result = orderIdempotencyService.placeOrder(userDetails.getUsername(), idempotencyKey, request);
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.response());
     }
 
     @GetMapping
@@ -34,6 +47,22 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getUserOrders(userDetails.getUsername(), PageRequest.of(page, size)));
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<OrderDto.OrderResponse>> getMyOrdersAfter(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(orderService.getUserOrdersAfter(userDetails.getUsername(), after, CursorPage.checkSize(size)));
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<OrderDto.OrderSummaryResponse>> getMyOrderSummaries(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderSummaryService.getUserSummaries(userDetails.getUsername(), after, CursorPage.checkSize(size)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDto.OrderResponse> getOrder(
             @PathVariable Long id,
@@ -49,6 +78,14 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders(PageRequest.of(page, size)));
     }
 
+    @GetMapping(value = "/admin/all", params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<OrderDto.OrderResponse>> getAllOrdersAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getAllOrdersAfter(after, CursorPage.checkSize(size)));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<OrderDto.OrderResponse> updateStatus(
@@ -1,18 +1,30 @@
 package com.luxe.ecommerce.controller;
 
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.dto.CursorPage;
 import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.ProductJson;
 import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.service.CatalogVersion;
+import com.luxe.ecommerce.service.ProductFacetIndex;
 import com.luxe.ecommerce.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/products")
@@ -20,35 +32,103 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
+
+    // How long the edge proxy may serve a catalog response without revalidating; browsers always revalidate
+    @Value("${app.http.catalog.shared-max-age:30s}")
+    private Duration sharedMaxAge;
 
     @GetMapping
-    public ResponseEntity<Page<Product>> getProducts(
+    public ResponseEntity<Page<ProductJson>> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         PageRequest pageable = PageRequest.of(page, size, sort);
 
         if (search != null && !search.isBlank()) {
-            return ResponseEntity.ok(productService.searchProducts(search, pageable));
+            return cacheable(etag, productService.searchProducts(search, pageable));
         } else if (category != null && !category.isBlank()) {
-            return ResponseEntity.ok(productService.getByCategory(category, pageable));
+            return cacheable(etag, productService.getByCategory(category, pageable));
+        }
+        return cacheable(etag, productService.getAllProducts(pageable));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<ProductJson>> getProductsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+
+        if (search != null && !search.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination is not supported for search");
+        }
+        if (!"createdAt".equals(sortBy) || !sortDir.equalsIgnoreCase("desc")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination only supports newest-first ordering");
+        }
+        CursorPage.checkSize(size);
+
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return cacheable(etag, productService.getProductsAfter(category, after, size));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<CatalogDto.FilteredProductsResponse> filterProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) Set<String> brand,
+            @RequestParam(required = false) Set<String> category,
+            @RequestParam(required = false) Set<String> price,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
         }
-        return ResponseEntity.ok(productService.getAllProducts(pageable));
+
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        ProductFacetIndex.Filter filter = new ProductFacetIndex.Filter(brand, category, price, minRating, inStock);
+        return cacheable(etag, productService.filterProducts(filter, PageRequest.of(page, size, sort)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getById(id));
+    public ResponseEntity<ProductJson> getProduct(@PathVariable Long id, WebRequest request) {
+        // Served from the product JSON cache when warm, so a matching ETag costs no query
+        ProductJson product = productService.getById(id);
+        if (request.checkNotModified(product.etag())) {
+            return notModified(product.etag());
+        }
+        return cacheable(product.etag(), product);
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getCategories() {
-        return ResponseEntity.ok(productService.getAllCategories());
+    public ResponseEntity<List<String>> getCategories(WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return cacheable(etag, productService.getAllCategories());
     }
 
     @PostMapping
@@ -69,4 +149,16 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private <T> ResponseEntity<T> cacheable(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(catalogCacheControl()).body(body);
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogCacheControl()).build();
+    }
+
+    private CacheControl catalogCacheControl() {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge).cachePublic().mustRevalidate();
+    }
 }
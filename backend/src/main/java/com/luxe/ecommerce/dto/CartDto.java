@@ -2,6 +2,7 @@ package com.luxe.ecommerce.dto;
 
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class CartDto {
@@ -12,6 +13,25 @@ public class CartDto {
         private Integer quantity;
     }
 
+    @Data
+    public static class CartBatchRequest {
+        private List<CartOperation> operations;
+    }
+
+    /**
+     * ADD takes a productId and a positive quantity. SET and REMOVE address a line by itemId or productId;
+     * SET with a quantity of zero or less removes the line, and SET by productId creates it if missing.
+     */
+    @Data
+    public static class CartOperation {
+        private CartOperationType op;
+        private Long itemId;
+        private Long productId;
+        private Integer quantity;
+    }
+
+    public enum CartOperationType { ADD, SET, REMOVE }
+
     @Data
     public static class CartItemResponse {
         private Long id;
@@ -29,4 +49,10 @@ public class CartDto {
         private BigDecimal total;
         private Integer itemCount;
     }
+
+    @Data
+    public static class ReservationResponse {
+        private LocalDateTime expiresAt;
+        private Integer itemCount;
+    }
 }
@@ -0,0 +1,57 @@
+package com.luxe.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CatalogDto {
+
+    /**
+     * A product as anonymous shoppers see it: no seller, moderation or automated review fields.
+     */
+    @Data
+    public static class ProductResponse {
+        private Long id;
+        private String name;
+        private String description;
+        private BigDecimal price;
+        private BigDecimal originalPrice;
+        private Integer stock;
+        private String category;
+        private String brand;
+        private String sku;
+        private String mainImageUrl;
+        private List<String> images;
+        private Double rating;
+        private Integer reviewCount;
+    }
+
+    @Data
+    public static class FilteredProductsResponse {
+        private Page<ProductJson> products;
+        private Facets facets;
+    }
+
+    /**
+     * Counts per facet value. Each facet is counted with every other selected filter applied
+     * but not its own, so the other values of a multi-select facet keep their counts.
+     */
+    @Data
+    public static class Facets {
+        private List<FacetCount> brands;
+        private List<FacetCount> categories;
+        private List<FacetCount> priceRanges;
+        private List<FacetCount> ratings;
+        private long inStock;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private long count;
+    }
+}
@@ -36,6 +36,19 @@ public class OrderDto {
         private LocalDateTime createdAt;
     }
 
+    /**
+     * One row of the order history list; {@code GET /orders/{id}} has the full order.
+     */
+    @Data
+    public static class OrderSummaryResponse {
+        private Long id;
+        private String status;
+        private BigDecimal totalAmount;
+        private Integer itemCount;
+        private String thumbnailUrl;
+        private LocalDateTime createdAt;
+    }
+
     @Data
     public static class UpdateStatusRequest {
         private String status;
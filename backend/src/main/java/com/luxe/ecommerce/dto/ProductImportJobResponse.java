@@ -0,0 +1,27 @@
+package com.luxe.ecommerce.dto;
+
+import com.luxe.ecommerce.model.ImportJob;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductImportJobResponse {
+
+    private Long id;
+    private ImportJob.ImportJobStatus status;
+    private String fileName;
+    private boolean cancelRequested;
+    private int processed;
+    private int created;
+    private int updated;
+    private int failed;
+    private double rowsPerSecond;
+    private List<ProductImportResult.RowError> errors = new ArrayList<>();
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
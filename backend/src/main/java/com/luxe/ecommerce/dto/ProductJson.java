@@ -0,0 +1,161 @@
+package com.luxe.ecommerce.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A public product already serialized to UTF-8 JSON. Jackson copies the bytes into the response
+ * as a raw value, so pages built from cached products are stitched together without serializing
+ * any product again.
+ */
+public final class ProductJson implements JsonSerializable {
+
+    private final Long id;
+    private final LocalDateTime createdAt;
+    private final String etag;
+    private final byte[] json;
+
+    public ProductJson(Long id, LocalDateTime createdAt, LocalDateTime updatedAt, byte[] json) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.etag = etag(id, updatedAt == null ? createdAt : updatedAt);
+        this.json = json;
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Strong validator for this product's JSON, from its id and last update. Every write that changes
+     * a storefront field, including plain-JDBC stock and import updates, also sets {@code updatedAt}.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    public int size() {
+        return json.length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(new RawUtf8(json));
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    private static String etag(Long id, LocalDateTime version) {
+        long micros = version == null
+                ? 0
+                : version.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + version.getNano() / 1_000;
+        return "\"p" + id + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    /**
+     * Byte-backed raw value. The UTF-8 generator only calls the unquoted UTF-8 methods; the char
+     * methods serve generators writing to a {@link java.io.Writer}.
+     */
+    private record RawUtf8(byte[] bytes) implements SerializableString {
+
+        @Override
+        public String getValue() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return bytes;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + bytes.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            return bytes.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            String value = getValue();
+            if (offset + value.length() > buffer.length) {
+                return -1;
+            }
+            value.getChars(0, value.length(), buffer, offset);
+            return value.length();
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(bytes);
+            return bytes.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (buffer.remaining() < bytes.length) {
+                return -1;
+            }
+            buffer.put(bytes);
+            return bytes.length;
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            throw quotedUnsupported();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            throw quotedUnsupported();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            throw quotedUnsupported();
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            throw quotedUnsupported();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) {
+            throw quotedUnsupported();
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            throw quotedUnsupported();
+        }
+
+        private static UnsupportedOperationException quotedUnsupported() {
+            return new UnsupportedOperationException("Raw JSON is never written as a quoted string");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.luxe.ecommerce.dto;
+
+import com.luxe.ecommerce.model.RescoreJob;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class RescoreJobResponse {
+
+    private Long id;
+    private RescoreJob.RescoreJobStatus status;
+    private boolean cancelRequested;
+    private long lastProductId;
+    private int processed;
+    private int changed;
+    private double productsPerSecond;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.luxe.ecommerce.event;
+
+import com.luxe.ecommerce.model.OrderEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code OrderEventDispatcher} on a background thread, after the order change committed.
+ * Delivery is at least once, so listeners must tolerate seeing the same {@code eventId} again;
+ * a listener that throws makes the event retry for every listener.
+ *
+ * @param previousStatus null for {@link OrderEvent.EventType#ORDER_PLACED}
+ */
+public record OrderLifecycleEvent(Long eventId,
+                                  OrderEvent.EventType type,
+                                  Long orderId,
+                                  String userEmail,
+                                  String status,
+                                  String previousStatus,
+                                  BigDecimal totalAmount,
+                                  LocalDateTime occurredAt) {
+
+    public OrderLifecycleEvent withEventId(Long id) {
+        return new OrderLifecycleEvent(id, type, orderId, userEmail, status, previousStatus, totalAmount, occurredAt);
+    }
+}
@@ -0,0 +1,14 @@
+package com.luxe.ecommerce.event;
+
+import java.util.Set;
+
+/**
+ * Published whenever a write may have changed what the public catalog shows for the given products.
+ * Listeners reload the products themselves, so the event only carries IDs.
+ */
+public record ProductChangedEvent(Set<Long> productIds) {
+
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(Set.of(productId));
+    }
+}
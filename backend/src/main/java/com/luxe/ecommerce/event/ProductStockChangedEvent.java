@@ -0,0 +1,10 @@
+package com.luxe.ecommerce.event;
+
+import java.util.Set;
+
+/**
+ * Published when only the stock of the given products moved (orders and cancellations),
+ * so listeners that do not care about stock can skip reloading them.
+ */
+public record ProductStockChangedEvent(Set<Long> productIds) {
+}
@@ -0,0 +1,32 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Single-row materialization of the admin dashboard counts. Kept current by buffered deltas and
+ * periodically overwritten with exact counts.
+ */
+@Entity
+@Table(name = "dashboard_counters")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DashboardCounters {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    private long totalUsers;
+    private long totalSellers;
+    private long totalProducts;
+    private long pendingSellerApplications;
+    private long pendingProductReviews;
+    private long totalOrders;
+    private long pendingOrders;
+    private long shippedOrders;
+    private long deliveredOrders;
+
+    private LocalDateTime reconciledAt;
+}
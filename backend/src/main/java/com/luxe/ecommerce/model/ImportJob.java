@@ -0,0 +1,67 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    private String fileName;
+
+    @Column(nullable = false)
+    private String spoolPath;
+
+    private String requestedBy;
+
+    // Last CSV row whose chunk has committed; a resumed job skips everything up to it
+    @Builder.Default
+    private int lastRow = 0;
+
+    @Builder.Default
+    private int processedRows = 0;
+    @Builder.Default
+    private int createdRows = 0;
+    @Builder.Default
+    private int updatedRows = 0;
+    @Builder.Default
+    private int failedRows = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String rowErrors;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Builder.Default
+    private boolean cancelRequested = false;
+
+    // Instance holding the spooled upload; it renews the lease while the job is queued or running there
+    private String ownerId;
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); updatedAt = LocalDateTime.now(); }
+
+    @PreUpdate
+    protected void onUpdate() { updatedAt = LocalDateTime.now(); }
+
+    public enum ImportJobStatus { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+}
@@ -8,7 +8,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_created", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Order {
 
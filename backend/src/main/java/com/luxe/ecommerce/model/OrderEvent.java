@@ -0,0 +1,51 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for an order lifecycle event, inserted in the transaction that changed the order and
+ * deleted once every listener has handled it. Read and written through {@code OrderEventRepository}.
+ */
+@Entity
+@Table(name = "order_events", indexes = @Index(name = "idx_order_events_next_attempt", columnList = "next_attempt_at, id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private EventType eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    // Due time for the next delivery; pushed forward while a dispatcher holds the event and on every retry
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set by the dispatcher that claimed the event most recently
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); }
+
+    public enum EventType { ORDER_PLACED, ORDER_STATUS_CHANGED }
+}
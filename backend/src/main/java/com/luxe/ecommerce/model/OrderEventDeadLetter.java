@@ -0,0 +1,41 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * An order event that still failed after the last allowed delivery attempt, kept for inspection and replay.
+ */
+@Entity
+@Table(name = "order_event_dead_letters")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderEventDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OrderEvent.EventType eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    private int attempts;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    // When the original event was recorded
+    private LocalDateTime createdAt;
+
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,43 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * The order created for a client-supplied {@code Idempotency-Key}. Written in the same transaction as
+ * the order, so a row exists exactly when the order was committed.
+ */
+@Entity
+@Table(name = "order_idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_keys_user_key", columnNames = {"user_email", "idempotency_key"}),
+        indexes = @Index(name = "idx_order_idempotency_keys_created", columnList = "created_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderIdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, to refuse a key reused for a different order
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); }
+}
@@ -26,4 +26,8 @@ public class OrderItem {
 
     @Column(nullable = false)
     private BigDecimal price;
+
+    // Product details as they were at purchase time; null on rows written before they were recorded
+    private String productName;
+    private String productImage;
 }
@@ -0,0 +1,57 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One compact row per order for the order history list, written alongside the order itself so the
+ * list never has to read orders or their items.
+ */
+@Entity
+@Table(name = "order_summaries",
+        indexes = @Index(name = "idx_order_summaries_user_created", columnList = "user_id, created_at, order_id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderSummary implements Persistable<Long> {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.OrderStatus status;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    // Number of order lines, not units
+    @Column(nullable = false)
+    private int itemCount;
+
+    private String thumbnailUrl;
+
+    // The order's own creation time, which the list is ordered by
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // The id is assigned, so without this save() would have to select before every insert
+    @Transient
+    @Builder.Default
+    private boolean newSummary = true;
+
+    @Override
+    public Long getId() { return orderId; }
+
+    @Override
+    public boolean isNew() { return newSummary; }
+
+    @PostLoad
+    @PostPersist
+    protected void markStored() { newSummary = false; }
+}
@@ -4,13 +4,25 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+        indexes = {
+                @Index(name = "idx_products_public_newest", columnList = "active, approval_status, created_at, id"),
+                @Index(name = "idx_products_public_category", columnList = "active, approval_status, category, created_at, id")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_products_sku", columnNames = "sku"))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@NaturalIdCache(region = "product-sku")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,7 +50,10 @@ public class Product {
 
     private String category;
     private String brand;
+
+    @NaturalId(mutable = true)
     private String sku;
+
     private String mainImageUrl;
 
     @Column(nullable = false)
@@ -72,6 +87,8 @@ public class Product {
     private Integer reviewCount = 0;
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-images")
     private List<ProductImage> images;
 
     @Column(updatable = false)
@@ -0,0 +1,62 @@
+package com.luxe.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rescore_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rescore_jobs_active_slot", columnNames = "active_slot"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RescoreJob {
+
+    public static final int ACTIVE_SLOT = 1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private RescoreJobStatus status = RescoreJobStatus.QUEUED;
+
+    private String requestedBy;
+
+    // Highest product ID whose chunk has committed; a resumed job continues after it
+    @Builder.Default
+    private long lastProductId = 0;
+
+    @Builder.Default
+    private int processedProducts = 0;
+    @Builder.Default
+    private int changedProducts = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Builder.Default
+    private boolean cancelRequested = false;
+
+    // Instance running the job; it renews the lease while the job is queued or running there
+    private String ownerId;
+    private LocalDateTime leaseExpiresAt;
+
+    // 1 while queued or running, null once finished; unique, so a second active job cannot be inserted
+    @Builder.Default
+    private Integer activeSlot = ACTIVE_SLOT;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); updatedAt = LocalDateTime.now(); }
+
+    @PreUpdate
+    protected void onUpdate() { updatedAt = LocalDateTime.now(); }
+
+    public enum RescoreJobStatus { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+}
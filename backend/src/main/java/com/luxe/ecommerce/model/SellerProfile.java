@@ -2,11 +2,17 @@ package com.luxe.ecommerce.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "seller_profiles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "seller-profile")
+@NaturalIdCache(region = "seller-profile-user")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +24,7 @@ public class SellerProfile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
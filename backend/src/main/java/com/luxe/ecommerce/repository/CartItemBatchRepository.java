@@ -0,0 +1,87 @@
+package com.luxe.ecommerce.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes for the write-behind cart store. Every method sends one statement or one JDBC batch
+ * covering the carts of many users and must run inside the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartItemBatchRepository {
+
+    private static final String DELETE_SQL = "DELETE FROM cart_items WHERE id IN (:ids)";
+    private static final String UPDATE_SQL = "UPDATE cart_items SET quantity = ? WHERE id = ?";
+    private static final String INSERT_SQL = "INSERT INTO cart_items (user_id, product_id, quantity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void deleteAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    public void updateQuantities(Map<Long, Integer> quantitiesById) {
+        if (quantitiesById.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantitiesById.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    /**
+     * Inserts the lines in one batch and returns their generated IDs in the same order.
+     */
+    public List<Long> insertAll(List<NewCartItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewCartItem item = items.get(i);
+                        ps.setLong(1, item.userId());
+                        ps.setLong(2, item.productId());
+                        ps.setInt(3, item.quantity());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    public record NewCartItem(long userId, long productId, int quantity) {
+    }
+}
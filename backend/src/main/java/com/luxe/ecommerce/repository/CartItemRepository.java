@@ -1,15 +1,22 @@
 package com.luxe.ecommerce.repository;
 
 import com.luxe.ecommerce.model.CartItem;
-import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByUser(User user);
-    Optional<CartItem> findByUserAndProduct(User user, Product product);
     void deleteByUser(User user);
+
+    @Query("""
+            SELECT ci FROM CartItem ci
+            JOIN FETCH ci.product
+            WHERE ci.user.email = :email
+            ORDER BY ci.id
+            """)
+    List<CartItem> findCartWithProducts(@Param("email") String email);
 }
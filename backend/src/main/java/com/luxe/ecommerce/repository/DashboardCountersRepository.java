@@ -0,0 +1,7 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.DashboardCounters;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DashboardCountersRepository extends JpaRepository<DashboardCounters, Long> {
+}
@@ -0,0 +1,107 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.ImportJob;
+import com.luxe.ecommerce.model.ImportJob.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Jobs are written with targeted updates rather than entity saves, so the worker's progress writes
+ * never overwrite a cancellation requested concurrently from another request or instance. Writes made
+ * by the worker are conditional on its instance still owning the job.
+ */
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findByOwnerIdAndStatus(String ownerId, ImportJobStatus status);
+
+    /**
+     * @return null if the job no longer exists
+     */
+    @Query("SELECT j.cancelRequested FROM ImportJob j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.status = :running, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner AND j.status = :queued AND j.cancelRequested = false
+            """)
+    int markRunning(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("queued") ImportJobStatus queued,
+                    @Param("running") ImportJobStatus running,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.lastRow = :lastRow, j.processedRows = :processed, j.createdRows = :created,
+                j.updatedRows = :updated, j.failedRows = :failed, j.rowErrors = :rowErrors,
+                j.leaseExpiresAt = :leaseUntil, j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner
+            """)
+    int saveProgress(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("lastRow") int lastRow,
+                     @Param("processed") int processed,
+                     @Param("created") int created,
+                     @Param("updated") int updated,
+                     @Param("failed") int failed,
+                     @Param("rowErrors") String rowErrors,
+                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                     @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.status = :status, j.errorMessage = :errorMessage, j.finishedAt = :now, j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner
+            """)
+    int finish(@Param("id") Long id,
+               @Param("owner") String owner,
+               @Param("status") ImportJobStatus status,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.cancelRequested = true, j.updatedAt = :now WHERE j.id = :id AND j.status IN :statuses")
+    int requestCancel(@Param("id") Long id,
+                      @Param("statuses") Collection<ImportJobStatus> statuses,
+                      @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.leaseExpiresAt = :leaseUntil
+            WHERE j.ownerId = :owner AND j.status IN :statuses
+            """)
+    int renewLeases(@Param("owner") String owner,
+                    @Param("statuses") Collection<ImportJobStatus> statuses,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Takes over active jobs whose owner stopped renewing their lease and, with {@code includeOwned}, the
+     * jobs {@code owner} held before it restarted. Claimed jobs are back in QUEUED for the new owner to run.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.status = :queued, j.ownerId = :owner, j.leaseExpiresAt = :leaseUntil, j.updatedAt = :now
+            WHERE j.status IN :statuses
+              AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now OR (:includeOwned = true AND j.ownerId = :owner))
+            """)
+    int claimInterrupted(@Param("owner") String owner,
+                         @Param("includeOwned") boolean includeOwned,
+                         @Param("statuses") Collection<ImportJobStatus> statuses,
+                         @Param("queued") ImportJobStatus queued,
+                         @Param("leaseUntil") LocalDateTime leaseUntil,
+                         @Param("now") LocalDateTime now);
+}
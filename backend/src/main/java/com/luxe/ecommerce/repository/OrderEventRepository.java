@@ -0,0 +1,147 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to the {@code order_events} outbox and its dead-letter table. Every method sends a fixed
+ * number of statements or JDBC batches, however many events it covers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderEventRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_events (order_id, event_type, payload, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, 0, ?, ?)";
+    private static final String FIND_DUE_IDS_SQL =
+            "SELECT id FROM order_events WHERE next_attempt_at <= ? ORDER BY next_attempt_at, id LIMIT ?";
+    // Conditional on the row still being due, so of two dispatchers racing for an event exactly one wins it
+    private static final String CLAIM_SQL =
+            "UPDATE order_events SET next_attempt_at = :leaseUntil, claim_token = :token " +
+            "WHERE id IN (:ids) AND next_attempt_at <= :now";
+    private static final String FIND_CLAIMED_SQL =
+            "SELECT id, order_id, event_type, payload, attempts, created_at FROM order_events " +
+            "WHERE id IN (:ids) AND claim_token = :token ORDER BY id";
+    private static final String DELETE_SQL = "DELETE FROM order_events WHERE id IN (:ids)";
+    private static final String RESCHEDULE_SQL =
+            "UPDATE order_events SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String INSERT_DEAD_LETTER_SQL =
+            "INSERT INTO order_event_dead_letters (event_id, order_id, event_type, payload, attempts, last_error, created_at, failed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void insertAll(List<NewEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.orderId());
+            ps.setString(2, event.type().name());
+            ps.setString(3, event.payload());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    /**
+     * Takes up to {@code limit} due events by pushing their due time to {@code leaseUntil}; an event whose
+     * dispatcher dies before finishing it becomes due again when the lease runs out.
+     *
+     * @return the claimed events, oldest first
+     */
+    public List<StoredEvent> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        Timestamp dueBy = Timestamp.valueOf(now);
+        List<Long> dueIds = jdbcTemplate.queryForList(FIND_DUE_IDS_SQL, Long.class, dueBy, limit);
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", dueIds)
+                .addValue("token", UUID.randomUUID().toString())
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil))
+                .addValue("now", dueBy);
+        if (namedParameterJdbcTemplate.update(CLAIM_SQL, params) == 0) {
+            return List.of();
+        }
+
+        return namedParameterJdbcTemplate.query(FIND_CLAIMED_SQL, params,
+                (rs, rowNum) -> new StoredEvent(
+                        rs.getLong("id"),
+                        rs.getLong("order_id"),
+                        OrderEvent.EventType.valueOf(rs.getString("event_type")),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    public void rescheduleAll(List<Retry> retries) {
+        if (retries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(RESCHEDULE_SQL, retries, retries.size(), (ps, retry) -> {
+            ps.setInt(1, retry.attempts());
+            ps.setTimestamp(2, Timestamp.valueOf(retry.nextAttemptAt()));
+            ps.setString(3, retry.error());
+            ps.setLong(4, retry.eventId());
+        });
+    }
+
+    /**
+     * Copies the events into the dead-letter table and removes them from the outbox; run both in one transaction.
+     */
+    public void moveToDeadLetters(List<DeadLetter> deadLetters) {
+        if (deadLetters.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_DEAD_LETTER_SQL, deadLetters, deadLetters.size(), (ps, deadLetter) -> {
+            StoredEvent event = deadLetter.event();
+            ps.setLong(1, event.id());
+            ps.setLong(2, event.orderId());
+            ps.setString(3, event.type().name());
+            ps.setString(4, event.payload());
+            ps.setInt(5, deadLetter.attempts());
+            ps.setString(6, deadLetter.error());
+            ps.setTimestamp(7, Timestamp.valueOf(event.createdAt()));
+            ps.setTimestamp(8, now);
+        });
+        deleteAll(deadLetters.stream().map(deadLetter -> deadLetter.event().id()).toList());
+    }
+
+    public record NewEvent(long orderId, OrderEvent.EventType type, String payload) {
+    }
+
+    public record StoredEvent(long id, long orderId, OrderEvent.EventType type, String payload, int attempts,
+                              LocalDateTime createdAt) {
+    }
+
+    public record Retry(long eventId, int attempts, LocalDateTime nextAttemptAt, String error) {
+    }
+
+    public record DeadLetter(StoredEvent event, int attempts, String error) {
+    }
+}
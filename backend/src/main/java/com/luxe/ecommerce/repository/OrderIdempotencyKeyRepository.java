@@ -0,0 +1,39 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+    @Query("""
+            SELECT k FROM OrderIdempotencyKey k
+            WHERE k.userEmail = :userEmail AND k.idempotencyKey = :idempotencyKey AND k.createdAt >= :cutoff
+            """)
+    Optional<OrderIdempotencyKey> findLive(@Param("userEmail") String userEmail,
+                                           @Param("idempotencyKey") String idempotencyKey,
+                                           @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Frees a key whose earlier use has expired but not been purged yet, so it can be stored again.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM OrderIdempotencyKey k
+            WHERE k.userEmail = :userEmail AND k.idempotencyKey = :idempotencyKey AND k.createdAt < :cutoff
+            """)
+    int deleteExpired(@Param("userEmail") String userEmail,
+                      @Param("idempotencyKey") String idempotencyKey,
+                      @Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
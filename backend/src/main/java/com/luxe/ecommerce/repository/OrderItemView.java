@@ -0,0 +1,18 @@
+package com.luxe.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+public interface OrderItemView {
+
+    Long getOrderId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    String getProductImage();
+
+    Integer getQuantity();
+
+    BigDecimal getPrice();
+}
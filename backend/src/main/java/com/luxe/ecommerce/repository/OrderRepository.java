@@ -5,9 +5,56 @@ import com.luxe.ecommerce.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
     long countByStatus(Order.OrderStatus status);
+
+    @Query("SELECT o FROM Order o WHERE o.user = :user ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserNewestFirst(@Param("user") User user, Pageable limit);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.user = :user
+              AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findByUserBefore(@Param("user") User user,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable limit);
+
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findAllNewestFirst(Pageable limit);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findAllBefore(@Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              Pageable limit);
+
+    /**
+     * Items of a page of orders in one query. Snapshot columns win; the product join only fills in
+     * rows written before they were recorded.
+     */
+    @Query("""
+            SELECT oi.order.id AS orderId, p.id AS productId,
+                   COALESCE(oi.productName, p.name) AS productName,
+                   COALESCE(oi.productImage, p.mainImageUrl) AS productImage,
+                   oi.quantity AS quantity, oi.price AS price
+            FROM OrderItem oi JOIN oi.product p
+            WHERE oi.order.id IN :orderIds
+            ORDER BY oi.id
+            """)
+    List<OrderItemView> findItemViewsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
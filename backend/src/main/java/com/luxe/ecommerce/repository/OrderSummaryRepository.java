@@ -0,0 +1,80 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.OrderSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    @Query("SELECT s FROM OrderSummary s WHERE s.userId = :userId ORDER BY s.createdAt DESC, s.orderId DESC")
+    List<OrderSummary> findByUserNewestFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.userId = :userId
+              AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.orderId < :orderId))
+            ORDER BY s.createdAt DESC, s.orderId DESC
+            """)
+    List<OrderSummary> findByUserBefore(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("orderId") Long orderId,
+                                        Pageable limit);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status WHERE s.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") Order.OrderStatus status);
+
+    // Summary columns of orders that have none; callers add the rest of the WHERE clause
+    String INSERT_MISSING_SQL = """
+            INSERT INTO order_summaries (order_id, user_id, status, total_amount, item_count, thumbnail_url, created_at)
+            SELECT o.id, o.user_id, o.status, o.total_amount,
+                   (SELECT COUNT(*) FROM order_items oi WHERE oi.order_id = o.id),
+                   (SELECT COALESCE(oi.product_image, p.main_image_url)
+                    FROM order_items oi JOIN products p ON p.id = oi.product_id
+                    WHERE oi.id = (SELECT MIN(first_item.id) FROM order_items first_item WHERE first_item.order_id = o.id)),
+                   COALESCE(o.created_at, CURRENT_TIMESTAMP)
+            FROM orders o
+            LEFT JOIN order_summaries s ON s.order_id = o.id
+            WHERE s.order_id IS NULL
+            """;
+
+    /**
+     * Writes summaries for orders that have none, i.e. orders placed before the read model existed.
+     * The thumbnail is the first line's snapshot image, or its product's current image for rows
+     * without a snapshot. Declaring the order tables as query spaces flushes pending order changes first
+     * without clearing every second-level cache region.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summaries"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items")
+    })
+    @Query(nativeQuery = true, value = INSERT_MISSING_SQL)
+    int insertMissing();
+
+    /**
+     * {@link #insertMissing()} for one order, e.g. an old order whose status changes before the startup backfill ran.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_summaries"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items")
+    })
+    @Query(nativeQuery = true, value = INSERT_MISSING_SQL + "AND o.id = :orderId")
+    int insertMissing(@Param("orderId") Long orderId);
+}
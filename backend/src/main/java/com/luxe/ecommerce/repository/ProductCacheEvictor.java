@@ -0,0 +1,65 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductImage;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Drops second-level cache entries for products written with plain JDBC, which Hibernate never sees.
+ * Entries are evicted right away and again once the transaction completes, so a concurrent load of
+ * the pre-commit row cannot stay cached.
+ */
+@Component
+@RequiredArgsConstructor
+class ProductCacheEvictor {
+
+    private static final String IMAGES_ROLE = Product.class.getName() + ".images";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    void evictProducts(Collection<Long> ids) {
+        List<Long> productIds = List.copyOf(ids);
+        evictNowAndAfterCompletion(() -> {
+            Cache cache = cache();
+            productIds.forEach(id -> cache.evictEntityData(Product.class, id));
+        });
+    }
+
+    void evictProductsAndImages(Collection<Long> ids) {
+        List<Long> productIds = List.copyOf(ids);
+        evictNowAndAfterCompletion(() -> {
+            Cache cache = cache();
+            productIds.forEach(id -> {
+                cache.evictEntityData(Product.class, id);
+                cache.evictCollectionData(IMAGES_ROLE, id);
+            });
+            // The IDs of the deleted image rows are not known here
+            cache.evictEntityData(ProductImage.class);
+        });
+    }
+
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
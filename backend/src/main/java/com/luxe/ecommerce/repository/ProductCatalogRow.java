@@ -0,0 +1,41 @@
+package com.luxe.ecommerce.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row per gallery image (or one row with a null image) of a public product, carrying only the
+ * columns the storefront shows.
+ */
+public interface ProductCatalogRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    BigDecimal getOriginalPrice();
+
+    Integer getStock();
+
+    String getCategory();
+
+    String getBrand();
+
+    String getSku();
+
+    String getMainImageUrl();
+
+    Double getRating();
+
+    Integer getReviewCount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getImageUrl();
+}
@@ -0,0 +1,175 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductImage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes for the CSV import. Every method sends one statement or one JDBC batch for a whole
+ * chunk of rows and must run inside the caller's chunk transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+
+    private static final String FIND_IDS_BY_SKU_SQL =
+            "SELECT id, sku FROM products WHERE sku IN (:skus) ORDER BY id";
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, original_price, stock, category, brand, sku, " +
+            "main_image_url, active, approval_status, rating, review_count, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE products SET name = ?, description = ?, price = ?, original_price = ?, stock = ?, " +
+            "category = ?, brand = ?, sku = ?, main_image_url = ?, active = ?, approval_status = ?, " +
+            "rating = COALESCE(?, rating), review_count = COALESCE(?, review_count), updated_at = ? WHERE id = ?";
+    private static final String DELETE_IMAGES_SQL =
+            "DELETE FROM product_images WHERE product_id IN (:productIds)";
+    private static final String INSERT_IMAGE_SQL =
+            "INSERT INTO product_images (image_url, product_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ProductCacheEvictor productCacheEvictor;
+
+    /**
+     * Resolves a chunk of SKUs in one query. When a SKU is shared by several rows the oldest product wins.
+     */
+    public Map<String, Long> findIdsBySku(Collection<String> skus) {
+        Map<String, Long> idsBySku = new HashMap<>();
+        if (skus.isEmpty()) {
+            return idsBySku;
+        }
+
+        namedParameterJdbcTemplate.query(FIND_IDS_BY_SKU_SQL, new MapSqlParameterSource("skus", skus),
+                (RowCallbackHandler) rs -> idsBySku.putIfAbsent(rs.getString("sku"), rs.getLong("id")));
+        return idsBySku;
+    }
+
+    /**
+     * Inserts new products in one batch and copies the generated IDs back onto them.
+     */
+    public void insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        int index = bindDetails(ps, product);
+                        ps.setDouble(index++, product.getRating() == null ? 0.0 : product.getRating());
+                        ps.setInt(index++, product.getReviewCount() == null ? 0 : product.getReviewCount());
+                        ps.setTimestamp(index++, now);
+                        ps.setTimestamp(index, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < products.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            products.get(i).setId(((Number) key).longValue());
+        }
+    }
+
+    /**
+     * Overwrites existing products in one batch. A null rating or review count keeps the stored value.
+     */
+    public void updateAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, products, products.size(), (ps, product) -> {
+            int index = bindDetails(ps, product);
+            setNullable(ps, index++, product.getRating(), Types.DOUBLE);
+            setNullable(ps, index++, product.getReviewCount(), Types.INTEGER);
+            ps.setTimestamp(index++, now);
+            ps.setLong(index, product.getId());
+        });
+        productCacheEvictor.evictProducts(products.stream().map(Product::getId).toList());
+    }
+
+    /**
+     * Replaces the gallery of every given product: one delete for the existing rows, one batch for the new ones.
+     */
+    public void replaceImages(Collection<Long> existingProductIds, List<Product> products) {
+        if (!existingProductIds.isEmpty()) {
+            namedParameterJdbcTemplate.update(DELETE_IMAGES_SQL, new MapSqlParameterSource("productIds", existingProductIds));
+            productCacheEvictor.evictProductsAndImages(existingProductIds);
+        }
+
+        List<ProductImage> images = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getImages() != null) {
+                images.addAll(product.getImages());
+            }
+        }
+        if (images.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, images, images.size(), (ps, image) -> {
+            ps.setString(1, image.getImageUrl());
+            ps.setLong(2, image.getProduct().getId());
+        });
+    }
+
+    private int bindDetails(PreparedStatement ps, Product product) throws SQLException {
+        int index = 1;
+        ps.setString(index++, product.getName());
+        ps.setString(index++, product.getDescription());
+        ps.setBigDecimal(index++, product.getPrice());
+        setNullable(ps, index++, product.getOriginalPrice(), Types.DECIMAL);
+        ps.setInt(index++, product.getStock());
+        ps.setString(index++, product.getCategory());
+        ps.setString(index++, product.getBrand());
+        ps.setString(index++, product.getSku());
+        ps.setString(index++, product.getMainImageUrl());
+        ps.setBoolean(index++, product.isActive());
+        ps.setString(index++, product.getApprovalStatus() == null ? null : product.getApprovalStatus().name());
+        return index;
+    }
+
+    private void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else if (value instanceof BigDecimal decimal) {
+            ps.setBigDecimal(index, decimal);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.luxe.ecommerce.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductIndexView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getBrand();
+
+    String getCategory();
+
+    BigDecimal getPrice();
+
+    Double getRating();
+
+    Integer getStock();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,13 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Product;
+
+import java.util.Optional;
+
+/**
+ * Looks products up by SKU through the {@code product-sku} natural-ID cache region.
+ */
+public interface ProductNaturalIdRepository {
+
+    Optional<Product> findBySku(String sku);
+}
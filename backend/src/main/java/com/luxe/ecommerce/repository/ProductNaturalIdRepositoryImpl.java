@@ -0,0 +1,21 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Product;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class ProductNaturalIdRepositoryImpl implements ProductNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findBySku(String sku) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Product.class).loadOptional(sku);
+    }
+}
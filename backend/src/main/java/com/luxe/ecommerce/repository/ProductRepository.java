@@ -1,34 +1,80 @@
 package com.luxe.ecommerce.repository;
 
+import com.luxe.ecommerce.dto.KeysetCursor;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.ProductApprovalStatus;
 import com.luxe.ecommerce.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductNaturalIdRepository {
 
     @Query("""
-            SELECT p FROM Product p
+            SELECT p.id FROM Product p
             WHERE p.active = true
               AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
             """)
-    Page<Product> findPublicProducts(Pageable pageable);
+    Page<Long> findPublicProductIds(Pageable pageable);
 
     @Query("""
-            SELECT p FROM Product p
+            SELECT p.id FROM Product p
+            WHERE p.active = true
+              AND p.category = :category
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            """)
+    Page<Long> findPublicProductIdsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query("""
+            SELECT new com.luxe.ecommerce.dto.KeysetCursor(p.createdAt, p.id) FROM Product p
+            WHERE p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<KeysetCursor> findPublicProductKeysNewestFirst(Pageable limit);
+
+    @Query("""
+            SELECT new com.luxe.ecommerce.dto.KeysetCursor(p.createdAt, p.id) FROM Product p
+            WHERE p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+              AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<KeysetCursor> findPublicProductKeysBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable limit);
+
+    @Query("""
+            SELECT new com.luxe.ecommerce.dto.KeysetCursor(p.createdAt, p.id) FROM Product p
+            WHERE p.active = true
+              AND p.category = :category
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<KeysetCursor> findPublicProductKeysByCategoryNewestFirst(@Param("category") String category, Pageable limit);
+
+    @Query("""
+            SELECT new com.luxe.ecommerce.dto.KeysetCursor(p.createdAt, p.id) FROM Product p
             WHERE p.active = true
               AND p.category = :category
               AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+              AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+            ORDER BY p.createdAt DESC, p.id DESC
             """)
-    Page<Product> findPublicProductsByCategory(@Param("category") String category, Pageable pageable);
+    List<KeysetCursor> findPublicProductKeysByCategoryBefore(@Param("category") String category,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable limit);
 
+    @EntityGraph(attributePaths = "images")
     @Query("""
             SELECT p FROM Product p
             WHERE p.id = :id
@@ -38,7 +84,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findPublicById(@Param("id") Long id);
 
     @Query("""
-            SELECT p FROM Product p
+            SELECT p.id FROM Product p
             WHERE p.active = true
               AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
               AND (
@@ -48,7 +94,53 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                  OR LOWER(p.category) LIKE LOWER(CONCAT('%', :q, '%'))
               )
             """)
-    Page<Product> searchProducts(@Param("q") String query, Pageable pageable);
+    Page<Long> searchPublicProductIds(@Param("q") String query, Pageable pageable);
+
+    @EntityGraph(attributePaths = "images")
+    @Query("""
+            SELECT p FROM Product p
+            WHERE p.id IN :ids
+              AND p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            """)
+    List<Product> findPublicByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price,
+                   p.originalPrice AS originalPrice, p.stock AS stock, p.category AS category, p.brand AS brand,
+                   p.sku AS sku, p.mainImageUrl AS mainImageUrl, p.rating AS rating, p.reviewCount AS reviewCount,
+                   p.createdAt AS createdAt, p.updatedAt AS updatedAt, i.imageUrl AS imageUrl
+            FROM Product p
+            LEFT JOIN p.images i
+            WHERE p.id IN :ids
+              AND p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            ORDER BY p.id ASC, i.id ASC
+            """)
+    List<ProductCatalogRow> findPublicCatalogRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.brand AS brand,
+                   p.category AS category, p.price AS price, p.rating AS rating, p.stock AS stock,
+                   p.createdAt AS createdAt
+            FROM Product p
+            WHERE p.id > :afterId
+              AND p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            ORDER BY p.id ASC
+            """)
+    List<ProductIndexView> findPublicIndexViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.brand AS brand,
+                   p.category AS category, p.price AS price, p.rating AS rating, p.stock AS stock,
+                   p.createdAt AS createdAt
+            FROM Product p
+            WHERE p.id IN :ids
+              AND p.active = true
+              AND (p.approvalStatus = com.luxe.ecommerce.model.ProductApprovalStatus.APPROVED OR p.approvalStatus IS NULL)
+            """)
+    List<ProductIndexView> findPublicIndexViewsByIdIn(@Param("ids") Collection<Long> ids);
 
     List<String> findDistinctCategoryByActiveTrue();
 
@@ -59,8 +151,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             """)
     List<String> findAllCategories();
 
-    Optional<Product> findBySku(String sku);
-
     long countByActiveTrue();
 
     long countByApprovalStatus(ProductApprovalStatus approvalStatus);
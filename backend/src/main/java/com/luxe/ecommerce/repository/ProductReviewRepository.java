@@ -0,0 +1,57 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads products in ID ranges with only the columns the automated review uses, and writes review
+ * outcomes back in one JDBC batch per range. Returned products are detached value holders.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductReviewRepository {
+
+    private static final String FIND_AFTER_SQL =
+            "SELECT id, name, description, price, stock, category, brand, main_image_url, ai_review_score, ai_recommendation " +
+            "FROM products WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_REVIEW_SQL =
+            "UPDATE products SET ai_review_score = ?, ai_review_summary = ?, ai_review_issues = ?, ai_recommendation = ? " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCacheEvictor productCacheEvictor;
+
+    public List<Product> findReviewFieldsAfter(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_SQL, (rs, rowNum) -> Product.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .stock(rs.getObject("stock", Integer.class))
+                .category(rs.getString("category"))
+                .brand(rs.getString("brand"))
+                .mainImageUrl(rs.getString("main_image_url"))
+                .aiReviewScore(rs.getObject("ai_review_score", Integer.class))
+                .aiRecommendation(rs.getString("ai_recommendation"))
+                .build(), afterId, limit);
+    }
+
+    public void updateReviews(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_REVIEW_SQL, products, products.size(), (ps, product) -> {
+            ps.setInt(1, product.getAiReviewScore());
+            ps.setString(2, product.getAiReviewSummary());
+            ps.setString(3, product.getAiReviewIssues());
+            ps.setString(4, product.getAiRecommendation());
+            ps.setLong(5, product.getId());
+        });
+        productCacheEvictor.evictProducts(products.stream().map(Product::getId).toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.luxe.ecommerce.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-statement stock adjustments, sent as one JDBC batch per order. Rows are always
+ * touched in ascending ID order so concurrent checkouts lock products in the same order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = ? WHERE id = ? AND stock >= ?";
+    private static final String RESTORE_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCacheEvictor productCacheEvictor;
+
+    /**
+     * Current stock read straight from the table, bypassing the persistence context and second-level cache.
+     */
+    public Map<Long, Integer> findStock(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    stock.put(rs.getLong("id"), rs.getInt("stock"));
+                },
+                productIds.toArray());
+        return stock;
+    }
+
+    /**
+     * Decrements every product by its quantity only where enough stock is left, keeping at least
+     * {@code floorsByProductId} units (stock held for other shoppers) untouched.
+     *
+     * @return IDs of the products that could not cover their quantity; the caller must roll back
+     */
+    public List<Long> decrementAll(Map<Long, Integer> quantitiesByProductId, Map<Long, Integer> floorsByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, line.getKey());
+            ps.setInt(4, line.getValue() + floorsByProductId.getOrDefault(line.getKey(), 0));
+        })[0];
+        productCacheEvictor.evictProducts(quantitiesByProductId.keySet());
+
+        List<Long> shortages = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] == 0) {
+                shortages.add(lines.get(i).getKey());
+            }
+        }
+        return shortages;
+    }
+
+    public void restoreAll(Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(RESTORE_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, line.getKey());
+        });
+        productCacheEvictor.evictProducts(quantitiesByProductId.keySet());
+    }
+}
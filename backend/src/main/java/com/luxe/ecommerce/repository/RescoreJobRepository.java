@@ -0,0 +1,105 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.RescoreJob;
+import com.luxe.ecommerce.model.RescoreJob.RescoreJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Same targeted-update and lease scheme as {@link ImportJobRepository}: progress writes never touch the
+ * cancel flag, and the worker's writes only apply while its instance owns the job.
+ */
+public interface RescoreJobRepository extends JpaRepository<RescoreJob, Long> {
+
+    List<RescoreJob> findByOwnerIdAndStatus(String ownerId, RescoreJobStatus status);
+
+    boolean existsByStatusIn(Collection<RescoreJobStatus> statuses);
+
+    /**
+     * @return null if the job no longer exists
+     */
+    @Query("SELECT j.cancelRequested FROM RescoreJob j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RescoreJob j SET j.status = :running, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner AND j.status = :queued AND j.cancelRequested = false
+            """)
+    int markRunning(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("queued") RescoreJobStatus queued,
+                    @Param("running") RescoreJobStatus running,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RescoreJob j SET j.lastProductId = :lastProductId, j.processedProducts = j.processedProducts + :processed,
+                j.changedProducts = j.changedProducts + :changed, j.leaseExpiresAt = :leaseUntil, j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner
+            """)
+    int addProgress(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("lastProductId") long lastProductId,
+                    @Param("processed") int processed,
+                    @Param("changed") int changed,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RescoreJob j SET j.status = :status, j.activeSlot = NULL, j.errorMessage = :errorMessage,
+                j.finishedAt = :now, j.updatedAt = :now
+            WHERE j.id = :id AND j.ownerId = :owner
+            """)
+    int finish(@Param("id") Long id,
+               @Param("owner") String owner,
+               @Param("status") RescoreJobStatus status,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoreJob j SET j.cancelRequested = true, j.updatedAt = :now WHERE j.id = :id AND j.status IN :statuses")
+    int requestCancel(@Param("id") Long id,
+                      @Param("statuses") Collection<RescoreJobStatus> statuses,
+                      @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RescoreJob j SET j.leaseExpiresAt = :leaseUntil
+            WHERE j.ownerId = :owner AND j.status IN :statuses
+            """)
+    int renewLeases(@Param("owner") String owner,
+                    @Param("statuses") Collection<RescoreJobStatus> statuses,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Same as {@link ImportJobRepository#claimInterrupted}: takes over expired jobs and, with {@code includeOwned},
+     * the jobs {@code owner} held before it restarted.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RescoreJob j SET j.status = :queued, j.ownerId = :owner, j.leaseExpiresAt = :leaseUntil, j.updatedAt = :now
+            WHERE j.status IN :statuses
+              AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now OR (:includeOwned = true AND j.ownerId = :owner))
+            """)
+    int claimInterrupted(@Param("owner") String owner,
+                         @Param("includeOwned") boolean includeOwned,
+                         @Param("statuses") Collection<RescoreJobStatus> statuses,
+                         @Param("queued") RescoreJobStatus queued,
+                         @Param("leaseUntil") LocalDateTime leaseUntil,
+                         @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.SellerProfile;
+import com.luxe.ecommerce.model.User;
+
+import java.util.Optional;
+
+/**
+ * Looks seller profiles up by their user through the {@code seller-profile-user} natural-ID cache region.
+ */
+public interface SellerProfileNaturalIdRepository {
+
+    Optional<SellerProfile> findByUser(User user);
+}
@@ -0,0 +1,22 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.SellerProfile;
+import com.luxe.ecommerce.model.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class SellerProfileNaturalIdRepositoryImpl implements SellerProfileNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SellerProfile> findByUser(User user) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(SellerProfile.class).loadOptional(user);
+    }
+}
@@ -0,0 +1,29 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.StockReservation;
+import com.luxe.ecommerce.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Query("""
+            SELECT r.user.id AS userId, r.product.id AS productId, r.quantity AS quantity, r.expiresAt AS expiresAt
+            FROM StockReservation r
+            WHERE r.expiresAt > :now
+            """)
+    List<StockReservationView> findActive(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.user = :user")
+    int deleteByUser(@Param("user") User user);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.luxe.ecommerce.repository;
+
+import java.time.LocalDateTime;
+
+public interface StockReservationView {
+
+    Long getUserId();
+
+    Long getProductId();
+
+    Integer getQuantity();
+
+    LocalDateTime getExpiresAt();
+}
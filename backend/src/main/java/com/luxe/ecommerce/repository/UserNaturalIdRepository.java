@@ -0,0 +1,14 @@
+package com.luxe.ecommerce.repository;
+
+import com.luxe.ecommerce.model.User;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by their natural ID, so a repeat lookup is answered from the {@code user-email} and
+ * {@code user} cache regions without a query.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+}
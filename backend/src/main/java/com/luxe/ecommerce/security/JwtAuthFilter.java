@@ -1,5 +1,7 @@
 package com.luxe.ecommerce.security;
 
+import com.luxe.ecommerce.model.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +23,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -41,11 +44,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
+            Claims claims = jwtUtil.parse(token).orElse(null);
 
-                String email = jwtUtil.extractEmail(token);
+            if (claims != null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails == null) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -61,4 +69,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+
+        // Tokens issued before identity claims were added still need the user row
+        if (userId == null || role == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (!userStatusCache.isEnabled(userId)) {
+            return null;
+        }
+
+        return new AuthenticatedUser(userId, claims.getSubject(), Role.valueOf(role));
+    }
 }
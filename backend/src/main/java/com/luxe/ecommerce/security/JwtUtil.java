@@ -1,23 +1,56 @@
 package com.luxe.ecommerce.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luxe.ecommerce.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
+@Slf4j
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpiration;
 
-    private Key getSigningKey() {
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Claims of tokens whose signature has already been checked, keyed by the exact token text
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .build();
+        try {
+            signingKey = buildSigningKey();
+            parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        } catch (IllegalStateException ex) {
+            // Keep the app up for public endpoints; token operations report the problem when used
+            log.error("JWT signing key unavailable: {}", ex.getMessage());
+        }
+    }
+
+    private Key buildSigningKey() {
         if (jwtSecret == null || jwtSecret.isBlank()) {
             throw new IllegalStateException("JWT secret is not configured");
         }
@@ -27,30 +60,50 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
 
-    public String generateToken(String email) {
+    private Key getSigningKey() {
+        return signingKey != null ? signingKey : buildSigningKey();
+    }
+
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Verifies the token and returns its claims, or empty when it is malformed, forged or expired.
+     * A token seen recently skips signature verification until its own expiry.
+     */
+    public Optional<Claims> parse(String token) {
+        if (parser == null || token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (isExpired(cached)) {
+                verifiedTokens.invalidate(token);
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
 }
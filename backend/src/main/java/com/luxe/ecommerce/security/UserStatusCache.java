@@ -0,0 +1,39 @@
+package com.luxe.ecommerce.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived view of whether an account is still enabled. Tokens carry identity and role, so this
+ * is the only per-request check against the users table, and it is shared across requests for
+ * {@code app.security.user-status-ttl}.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> enabledByUserId;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.security.user-status-ttl:30s}") Duration ttl,
+                           @Value("${app.security.user-status-max-entries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.enabledByUserId = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isEnabled(Long userId) {
+        return enabledByUserId.get(userId, id -> userRepository.findEnabledById(id).orElse(false));
+    }
+
+    public void evict(Long userId) {
+        enabledByUserId.invalidate(userId);
+    }
+}
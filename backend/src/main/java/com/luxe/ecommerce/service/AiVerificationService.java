@@ -1,18 +1,56 @@
 package com.luxe.ecommerce.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.SellerProfile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Locale;
 
 @Service
 public class AiVerificationService {
 
+    @Value("${app.ai-review.suspicious-terms:fake,replica,copy,dummy,test product}")
+    private List<String> suspiciousTerms;
+
+    @Value("${app.ai-review.result-cache-size:10000}")
+    private long resultCacheSize;
+
+    private SuspiciousTermMatcher suspiciousTermMatcher;
+
+    // Results keyed by a hash of exactly the fields each review reads, so unchanged resubmissions skip scoring
+    private Cache<String, ReviewResult> results;
+
+    @PostConstruct
+    void init() {
+        suspiciousTermMatcher = SuspiciousTermMatcher.compile(suspiciousTerms);
+        results = Caffeine.newBuilder()
+                .maximumSize(resultCacheSize)
+                .build();
+    }
+
     public ReviewResult reviewSellerProfile(SellerProfile profile) {
+        String key = contentHash("seller", profile.getBusinessName(), profile.getDescription(), profile.getAddress(),
+                profile.getTaxId(), profile.getDocumentUrl(), profile.getWebsite());
+        return results.get(key, ignored -> scoreSellerProfile(profile));
+    }
+
+    public ReviewResult reviewProduct(Product product) {
+        String key = contentHash("product", product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getBrand(), product.getMainImageUrl());
+        return results.get(key, ignored -> scoreProduct(product));
+    }
+
+    private ReviewResult scoreSellerProfile(SellerProfile profile) {
         List<String> issues = new ArrayList<>();
         int score = 100;
 
@@ -48,7 +86,10 @@ public class AiVerificationService {
         return finalizeResult(score, issues, "seller profile");
     }
 
-    public ReviewResult reviewProduct(Product product) {
+    /**
+     * Scores without consulting or filling the memo, for bulk passes over the catalog.
+     */
+    public ReviewResult scoreProduct(Product product) {
         List<String> issues = new ArrayList<>();
         int score = 100;
 
@@ -109,26 +150,41 @@ public class AiVerificationService {
 
     private boolean containsSuspiciousLanguage(String... values) {
         for (String value : values) {
-            if (isBlank(value)) {
-                continue;
-            }
-
-            String normalized = value.toLowerCase(Locale.ROOT);
-            if (normalized.contains("fake")
-                    || normalized.contains("replica")
-                    || normalized.contains("copy")
-                    || normalized.contains("dummy")
-                    || normalized.contains("test product")) {
+            if (!isBlank(value) && suspiciousTermMatcher.matchesAny(value)) {
                 return true;
             }
         }
         return false;
     }
 
+    private String contentHash(String subject, Object... fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(subject.getBytes(StandardCharsets.UTF_8));
+            for (Object field : fields) {
+                // Separator plus a null marker keep ("ab", "c") and ("a", "bc") or null and "" apart
+                digest.update((byte) 0);
+                if (field == null) {
+                    digest.update((byte) 1);
+                } else {
+                    String text = field instanceof BigDecimal decimal ? decimal.stripTrailingZeros().toPlainString() : field.toString();
+                    digest.update(text.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
     private boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
 
     public record ReviewResult(int score, String summary, List<String> issues, String recommendation) {
+
+        public ReviewResult {
+            issues = List.copyOf(issues);
+        }
     }
 }
@@ -8,11 +8,11 @@ import com.luxe.ecommerce.model.User;
 import com.luxe.ecommerce.repository.SellerProfileRepository;
 import com.luxe.ecommerce.repository.UserRepository;
 import com.luxe.ecommerce.security.JwtUtil;
+import com.luxe.ecommerce.security.UserStatusCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,7 +33,7 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final GoogleTokenVerifierService googleTokenVerifierService;
-    private final JdbcTemplate jdbcTemplate;
+    private final UserStatusCache userStatusCache;
 
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
         String normalizedEmail = request.getEmail() == null ? "" : request.getEmail().trim().toLowerCase();
@@ -60,17 +60,9 @@ public class AuthService {
 
         try {
             userRepository.save(user);
-        } catch (Exception ex) {
-            if (role == Role.SELLER && tryMigrateRoleColumnAndRetry(user, ex)) {
-                log.info("Retried seller registration successfully after users.role schema migration for {}",
-                        user.getEmail());
-            } else if (ex instanceof DataIntegrityViolationException) {
-                throw new ResponseStatusException(HttpStatus.CONFLICT,
-                        "Account already exists or profile data is invalid", ex);
-            } else {
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                        "Registration failed due to database schema mismatch", ex);
-            }
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Account already exists or profile data is invalid", ex);
         }
 
         if (role == Role.SELLER) {
@@ -86,19 +78,6 @@ public class AuthService {
         return buildAuthResponse(user);
     }
 
-    private boolean tryMigrateRoleColumnAndRetry(User user, Exception rootException) {
-        try {
-            log.warn("Seller insert failed for {}. Attempting users.role schema migration. Root cause: {}",
-                    user.getEmail(), rootException.getMessage());
-            jdbcTemplate.execute("ALTER TABLE users MODIFY COLUMN role VARCHAR(20) NOT NULL");
-            userRepository.save(user);
-            return true;
-        } catch (Exception migrationException) {
-            log.error("users.role schema migration failed", migrationException);
-            return false;
-        }
-    }
-
     public AuthDto.AuthResponse login(AuthDto.LoginRequest request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -151,7 +130,9 @@ public class AuthService {
             existingUser.setFullName(googleProfile.getFullName().trim());
         }
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        userStatusCache.evict(saved.getId());
+        return saved;
     }
 
     private User createGoogleUser(GoogleTokenVerifierService.GoogleUserProfile googleProfile) {
@@ -204,7 +185,7 @@ public class AuthService {
     private AuthDto.AuthResponse buildAuthResponse(User user) {
         String token;
         try {
-            token = jwtUtil.generateToken(user.getEmail());
+            token = jwtUtil.generateToken(user);
         } catch (Exception ex) {
             log.error("JWT generation failed for user {}", user.getEmail(), ex);
             throw new ResponseStatusException(
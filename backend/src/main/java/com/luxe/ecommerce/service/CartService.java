@@ -1,107 +1,123 @@
 package com.luxe.ecommerce.service;
 
 import com.luxe.ecommerce.dto.CartDto;
-import com.luxe.ecommerce.model.CartItem;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.ProductApprovalStatus;
-import com.luxe.ecommerce.model.User;
-import com.luxe.ecommerce.repository.CartItemRepository;
 import com.luxe.ecommerce.repository.ProductRepository;
-import com.luxe.ecommerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
-    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
     private final ProductRepository productRepository;
-    private final UserRepository userRepository;
+
+    @Value("${app.cart.max-batch-operations:100}")
+    private int maxBatchOperations;
 
     @Transactional
     public CartDto.CartResponse getCart(String email) {
-        User user = getUser(email);
-        List<CartItem> items = cartItemRepository.findByUser(user);
-        List<CartItem> activeItems = pruneInactiveItems(items);
-        return buildCartResponse(activeItems);
+        return buildCartResponse(email, cartStore.getLines(email));
     }
 
+    /**
+     * Builds the response from the lines the store returns for the change, rather than reading the
+     * cart again once the change is written.
+     */
     @Transactional
     public CartDto.CartResponse addToCart(String email, CartDto.CartItemRequest request) {
-        User user = getUser(email);
-        Product product = productRepository.findPublicById(request.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-
-        Optional<CartItem> existing = cartItemRepository.findByUserAndProduct(user, product);
-        if (existing.isPresent()) {
-            CartItem item = existing.get();
-            item.setQuantity(item.getQuantity() + request.getQuantity());
-            cartItemRepository.save(item);
-        } else {
-            CartItem item = CartItem.builder()
-                    .user(user).product(product).quantity(request.getQuantity()).build();
-            cartItemRepository.save(item);
-        }
-        return getCart(email);
+        List<CartStore.CartLine> lines = cartStore.addQuantity(email, request.getProductId(), request.getQuantity(),
+                productId -> productRepository.findPublicById(productId)
+                        .orElseThrow(() -> new RuntimeException("Product not found")));
+        return buildCartResponse(email, lines);
     }
 
     @Transactional
     public CartDto.CartResponse updateCartItem(String email, Long itemId, Integer quantity) {
-        CartItem item = cartItemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
-        if (!isPurchasable(item.getProduct())) {
-            cartItemRepository.delete(item);
-            return getCart(email);
+        // Looked up in the caller's own cart, so another user's item IDs are simply not found
+        List<CartStore.CartLine> lines = cartStore.setQuantity(email, itemId, quantity)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cart item not found"));
+        return buildCartResponse(email, lines);
+    }
+
+    /**
+     * Applies a batch of operations in one transaction, looking up every product it adds with one query.
+     */
+    @Transactional
+    public CartDto.CartResponse applyOperations(String email, List<CartDto.CartOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one cart operation is required");
         }
-        if (quantity <= 0) {
-            cartItemRepository.delete(item);
-        } else {
-            item.setQuantity(quantity);
-            cartItemRepository.save(item);
+        if (operations.size() > maxBatchOperations) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A cart batch is limited to " + maxBatchOperations + " operations");
         }
-        return getCart(email);
+        operations.forEach(this::validateOperation);
+
+        Set<Long> addedProductIds = operations.stream()
+                .filter(op -> op.getProductId() != null && op.getOp() != CartDto.CartOperationType.REMOVE)
+                .filter(op -> op.getQuantity() != null && op.getQuantity() > 0)
+                .map(CartDto.CartOperation::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = addedProductIds.isEmpty()
+                ? Map.of()
+                : productRepository.findPublicByIdIn(addedProductIds).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        addedProductIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + productId);
+                });
+
+        List<CartStore.CartLine> lines = cartStore.applyOperations(email, operations, products)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cart item not found"));
+        return buildCartResponse(email, lines);
     }
 
     @Transactional
     public void clearCart(String email) {
-        User user = getUser(email);
-        cartItemRepository.deleteByUser(user);
+        cartStore.clear(email);
     }
 
-    private List<CartItem> pruneInactiveItems(List<CartItem> items) {
-        List<CartItem> inactiveItems = items.stream()
-                .filter(item -> !isPurchasable(item.getProduct()))
+    /**
+     * Drops lines whose product can no longer be bought before building the response.
+     */
+    private CartDto.CartResponse buildCartResponse(String email, List<CartStore.CartLine> lines) {
+        List<Long> inactiveLineIds = lines.stream()
+                .filter(line -> !isPurchasable(line.product()))
+                .map(CartStore.CartLine::id)
                 .collect(Collectors.toList());
-
-        if (!inactiveItems.isEmpty()) {
-            inactiveItems.forEach(cartItemRepository::delete);
+        if (!inactiveLineIds.isEmpty()) {
+            cartStore.removeLines(email, inactiveLineIds);
         }
 
-        return items.stream()
-                .filter(item -> isPurchasable(item.getProduct()))
-                .collect(Collectors.toList());
-    }
-
-    private CartDto.CartResponse buildCartResponse(List<CartItem> items) {
-        List<CartDto.CartItemResponse> itemResponses = items.stream().map(item -> {
-            CartDto.CartItemResponse r = new CartDto.CartItemResponse();
-            r.setId(item.getId());
-            r.setProductId(item.getProduct().getId());
-            r.setProductName(item.getProduct().getName());
-            r.setProductImage(item.getProduct().getMainImageUrl());
-            r.setPrice(item.getProduct().getPrice());
-            r.setQuantity(item.getQuantity());
-            r.setSubtotal(item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
-            return r;
-        }).collect(Collectors.toList());
+        List<CartDto.CartItemResponse> itemResponses = lines.stream()
+                .filter(line -> isPurchasable(line.product()))
+                .map(line -> {
+                    CartDto.CartItemResponse r = new CartDto.CartItemResponse();
+                    r.setId(line.id());
+                    r.setProductId(line.product().getId());
+                    r.setProductName(line.product().getName());
+                    r.setProductImage(line.product().getMainImageUrl());
+                    r.setPrice(line.product().getPrice());
+                    r.setQuantity(line.quantity());
+                    r.setSubtotal(line.product().getPrice().multiply(BigDecimal.valueOf(line.quantity())));
+                    return r;
+                }).collect(Collectors.toList());
 
         BigDecimal total = itemResponses.stream()
                 .map(CartDto.CartItemResponse::getSubtotal)
@@ -110,13 +126,31 @@ public class CartService {
         CartDto.CartResponse response = new CartDto.CartResponse();
         response.setItems(itemResponses);
         response.setTotal(total);
-        response.setItemCount(items.stream().mapToInt(CartItem::getQuantity).sum());
+        response.setItemCount(itemResponses.stream().mapToInt(CartDto.CartItemResponse::getQuantity).sum());
         return response;
     }
 
-    private User getUser(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    private void validateOperation(CartDto.CartOperation op) {
+        if (op == null || op.getOp() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every cart operation needs an op of ADD, SET or REMOVE");
+        }
+        switch (op.getOp()) {
+            case ADD -> {
+                if (op.getProductId() == null || op.getQuantity() == null || op.getQuantity() <= 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ADD needs a productId and a positive quantity");
+                }
+            }
+            case SET -> {
+                if (op.getItemId() == null && op.getProductId() == null || op.getQuantity() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "SET needs an itemId or productId and a quantity");
+                }
+            }
+            case REMOVE -> {
+                if (op.getItemId() == null && op.getProductId() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "REMOVE needs an itemId or productId");
+                }
+            }
+        }
     }
 
     private boolean isPurchasable(Product product) {
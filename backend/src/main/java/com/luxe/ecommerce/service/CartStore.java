@@ -0,0 +1,56 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Where {@link CartService} keeps cart lines. Selected with {@code app.cart.store}: {@code jpa} (the default)
+ * writes every change to {@code cart_items} immediately, {@code write-behind} keeps carts in memory and
+ * writes them back in batches.
+ * <p>
+ * Mutations return the resulting lines, oldest first, so callers never have to read the cart again.
+ * Code that reads {@code cart_items} directly must call {@link #flush} for the user first.
+ */
+public interface CartStore {
+
+    List<CartLine> getLines(String email);
+
+    /**
+     * Adds to the line for the product, creating it if the cart has none. {@code productLoader} is only
+     * asked for the product when a new line is created and should throw if it cannot be bought.
+     */
+    List<CartLine> addQuantity(String email, Long productId, int quantity, Function<Long, Product> productLoader);
+
+    /**
+     * Sets the quantity of one of the user's lines, removing it when {@code quantity} is zero or less.
+     *
+     * @return empty when the user's cart has no such line
+     */
+    Optional<List<CartLine>> setQuantity(String email, Long lineId, int quantity);
+
+    /**
+     * Applies the operations in order. {@code products} holds every product an operation may add, already
+     * checked to be purchasable. Nothing is applied when an operation names an item ID the cart does not have.
+     *
+     * @return empty when an item ID is not in the user's cart
+     */
+    Optional<List<CartLine>> applyOperations(String email, List<CartDto.CartOperation> operations, Map<Long, Product> products);
+
+    void removeLines(String email, Collection<Long> lineIds);
+
+    void clear(String email);
+
+    /**
+     * Makes every change to the user's cart durable in {@code cart_items}.
+     */
+    void flush(String email);
+
+    record CartLine(Long id, Product product, int quantity) {
+    }
+}
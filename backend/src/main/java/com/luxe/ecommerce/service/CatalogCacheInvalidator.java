@@ -0,0 +1,51 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.config.CacheConfig;
+import com.luxe.ecommerce.event.ProductChangedEvent;
+import com.luxe.ecommerce.event.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Evicts the public catalog caches once a product write has committed, so a concurrent
+ * read cannot re-populate them with the pre-commit state, then moves the {@link CatalogVersion}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ProductJsonCache productJsonCache;
+    private final CatalogVersion catalogVersion;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        clear(CacheConfig.PRODUCT_CATEGORIES);
+        evict(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        evict(event.productIds());
+    }
+
+    private void evict(Set<Long> productIds) {
+        productJsonCache.evictAll(productIds);
+        clear(CacheConfig.PRODUCT_PAGES);
+        clear(CacheConfig.CATEGORY_PAGES);
+        // Only after the caches are cleared, so a page tagged with the new version is never the old content
+        catalogVersion.bump();
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
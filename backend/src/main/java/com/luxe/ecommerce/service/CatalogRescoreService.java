@@ -0,0 +1,296 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.RescoreJobResponse;
+import com.luxe.ecommerce.event.ProductChangedEvent;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.RescoreJob;
+import com.luxe.ecommerce.model.RescoreJob.RescoreJobStatus;
+import com.luxe.ecommerce.repository.ProductReviewRepository;
+import com.luxe.ecommerce.repository.RescoreJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Re-applies the current automated review rules to every product, e.g. after the suspicious-term
+ * dictionary changes.
+ * <p>
+ * One job runs at a time. It walks the products table in ID ranges, scores each range in parallel on a
+ * dedicated fork-join pool and writes back only the products whose outcome changed, in one JDBC batch.
+ * The range and its checkpoint commit together, and the job sleeps between ranges so it only ever holds
+ * one pooled connection for a short burst. An interrupted job resumes after its checkpoint on restart.
+ * <p>
+ * The running instance holds a lease on the job, renewed by a heartbeat and with every checkpoint.
+ * On restart an instance resumes only its own job; another instance's job is taken over once its
+ * lease has expired.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogRescoreService {
+
+    private static final List<RescoreJobStatus> ACTIVE = List.of(RescoreJobStatus.QUEUED, RescoreJobStatus.RUNNING);
+
+    private final RescoreJobRepository rescoreJobRepository;
+    private final ProductReviewRepository productReviewRepository;
+    private final AiVerificationService aiVerificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.rescore.chunk-size:500}")
+    private int chunkSize;
+
+    // Pause between ranges; the throttle that keeps checkout's connections free
+    @Value("${app.rescore.pause:200ms}")
+    private Duration pause;
+
+    @Value("${app.rescore.parallelism:2}")
+    private int parallelism;
+
+    @Value("${app.instance-id:${HOSTNAME:local}}")
+    private String instanceId;
+
+    @Value("${app.jobs.lease:2m}")
+    private Duration lease;
+
+    private ExecutorService runner;
+    private ForkJoinPool scoringPool;
+    // Jobs queued or running on this instance
+    private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void startPools() {
+        runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-rescore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scoringPool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    void stopPools() {
+        // A running job is not awaited; it resumes from its checkpoint on the next start
+        runner.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        resumeJobs(true);
+    }
+
+    /**
+     * Renews the lease of this instance's job and takes over a job whose owner has stopped renewing it.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        try {
+            rescoreJobRepository.renewLeases(instanceId, ACTIVE, LocalDateTime.now().plus(lease));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew catalog rescore job leases: {}", ex.getMessage());
+            return;
+        }
+        resumeJobs(false);
+    }
+
+    private void resumeJobs(boolean includeOwned) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            rescoreJobRepository.claimInterrupted(instanceId, includeOwned, ACTIVE, RescoreJobStatus.QUEUED, now.plus(lease), now);
+            for (RescoreJob job : rescoreJobRepository.findByOwnerIdAndStatus(instanceId, RescoreJobStatus.QUEUED)) {
+                if (!localJobs.contains(job.getId())) {
+                    log.info("Resuming catalog rescore job {} after product {}", job.getId(), job.getLastProductId());
+                    submit(job.getId());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to resume catalog rescore jobs", ex);
+        }
+    }
+
+    public RescoreJobResponse startRescore(String requestedBy) {
+        if (rescoreJobRepository.existsByStatusIn(ACTIVE)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A catalog rescore is already in progress");
+        }
+
+        RescoreJob job;
+        try {
+            job = rescoreJobRepository.save(RescoreJob.builder()
+                    .requestedBy(requestedBy)
+                    .ownerId(instanceId)
+                    .leaseExpiresAt(LocalDateTime.now().plus(lease))
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // Lost the race to a concurrent request: the active-slot index admits one active job
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A catalog rescore is already in progress");
+        }
+        submit(job.getId());
+        return toResponse(job);
+    }
+
+    public RescoreJobResponse getJob(Long id) {
+        return toResponse(findJob(id));
+    }
+
+    public RescoreJobResponse cancelJob(Long id) {
+        RescoreJob job = findJob(id);
+        if (rescoreJobRepository.requestCancel(id, ACTIVE, LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rescore job is already " + job.getStatus());
+        }
+        return toResponse(findJob(id));
+    }
+
+    private void submit(Long jobId) {
+        localJobs.add(jobId);
+        runner.execute(() -> {
+            try {
+                runJob(jobId);
+            } finally {
+                localJobs.remove(jobId);
+            }
+        });
+    }
+
+    private void runJob(Long jobId) {
+        RescoreJob job = rescoreJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (rescoreJobRepository.markRunning(jobId, instanceId, RescoreJobStatus.QUEUED, RescoreJobStatus.RUNNING, LocalDateTime.now()) == 0) {
+            if (isCancelRequested(jobId)) {
+                rescoreJobRepository.finish(jobId, instanceId, RescoreJobStatus.CANCELLED, null, LocalDateTime.now());
+            }
+            return;
+        }
+
+        long lastProductId = job.getLastProductId();
+        try {
+            while (true) {
+                if (isCancelRequested(jobId)) {
+                    rescoreJobRepository.finish(jobId, instanceId, RescoreJobStatus.CANCELLED, null, LocalDateTime.now());
+                    return;
+                }
+
+                List<Product> products = productReviewRepository.findReviewFieldsAfter(lastProductId, chunkSize);
+                if (products.isEmpty()) {
+                    break;
+                }
+
+                List<Product> changed = rescore(products);
+                long checkpoint = products.get(products.size() - 1).getId();
+                boolean owned = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    if (rescoreJobRepository.addProgress(jobId, instanceId, checkpoint, products.size(), changed.size(),
+                            now.plus(lease), now) == 0) {
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    productReviewRepository.updateReviews(changed);
+                    if (!changed.isEmpty()) {
+                        eventPublisher.publishEvent(new ProductChangedEvent(
+                                changed.stream().map(Product::getId).collect(Collectors.toSet())));
+                    }
+                    return true;
+                }));
+                if (!owned) {
+                    log.warn("Catalog rescore job {} was taken over by another instance; stopping after product {}", jobId, lastProductId);
+                    return;
+                }
+                lastProductId = checkpoint;
+
+                Thread.sleep(pause.toMillis());
+            }
+            rescoreJobRepository.finish(jobId, instanceId, RescoreJobStatus.COMPLETED, null, LocalDateTime.now());
+        } catch (InterruptedException ex) {
+            // Shutdown: stays RUNNING and is picked up again from the checkpoint on the next start
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | ExecutionException ex) {
+            if (runner.isShutdown()) {
+                return;
+            }
+            log.error("Catalog rescore job {} failed after product {}", jobId, lastProductId, ex);
+            rescoreJobRepository.finish(jobId, instanceId, RescoreJobStatus.FAILED, ex.getMessage(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Scores the range in parallel and returns the products whose score or recommendation changed,
+     * with their new review fields set.
+     */
+    private List<Product> rescore(List<Product> products) throws InterruptedException, ExecutionException {
+        return scoringPool.submit(() -> products.parallelStream()
+                        .map(this::applyIfChanged)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .get();
+    }
+
+    private Product applyIfChanged(Product product) {
+        AiVerificationService.ReviewResult review = aiVerificationService.scoreProduct(product);
+        if (Objects.equals(product.getAiReviewScore(), review.score())
+                && Objects.equals(product.getAiRecommendation(), review.recommendation())) {
+            return null;
+        }
+
+        product.setAiReviewScore(review.score());
+        product.setAiReviewSummary(review.summary());
+        product.setAiReviewIssues(String.join("\n", review.issues()));
+        product.setAiRecommendation(review.recommendation());
+        return product;
+    }
+
+    // A job that no longer exists is treated as cancelled
+    private boolean isCancelRequested(Long jobId) {
+        return !Boolean.FALSE.equals(rescoreJobRepository.isCancelRequested(jobId));
+    }
+
+    private RescoreJob findJob(Long id) {
+        return rescoreJobRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rescore job not found"));
+    }
+
+    private RescoreJobResponse toResponse(RescoreJob job) {
+        RescoreJobResponse response = new RescoreJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setCancelRequested(job.isCancelRequested());
+        response.setLastProductId(job.getLastProductId());
+        response.setProcessed(job.getProcessedProducts());
+        response.setChanged(job.getChangedProducts());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            response.setProductsPerSecond(Math.round(job.getProcessedProducts() * 10_000.0 / millis) / 10.0);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,23 @@
+package com.luxe.ecommerce.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped by {@link CatalogCacheInvalidator} after every committed public catalog change, used as
+ * the ETag of listing pages. It starts from the boot time so a restart never reissues an earlier tag.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public String etag() {
+        return "\"c" + Long.toHexString(version.get()) + "\"";
+    }
+
+    void bump() {
+        version.incrementAndGet();
+    }
+}
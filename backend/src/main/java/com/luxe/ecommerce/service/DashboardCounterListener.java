@@ -0,0 +1,129 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductApprovalStatus;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.SellerApprovalStatus;
+import com.luxe.ecommerce.model.SellerProfile;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.service.DashboardCounterService.Counter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns every JPA write to users, products, seller profiles and orders into dashboard counter deltas,
+ * comparing the counters an entity falls into before and after the write. Registration, activation,
+ * approval decisions and order status transitions are all covered without each service tracking them.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DashboardCounterService dashboardCounterService;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getEntity(), event.getPersister(), null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Without the loaded state there is nothing to diff against; reconciliation covers it
+        if (event.getOldState() != null) {
+            record(event.getEntity(), event.getPersister(), event.getOldState(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getEntity(), event.getPersister(), event.getDeletedState(), null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(Object entity, EntityPersister persister, Object[] before, Object[] after) {
+        if (!(entity instanceof User || entity instanceof Product || entity instanceof SellerProfile || entity instanceof Order)) {
+            return;
+        }
+
+        Map<Counter, Integer> deltas = new EnumMap<>(Counter.class);
+        countedIn(entity, persister, before).forEach(counter -> deltas.merge(counter, -1, Integer::sum));
+        countedIn(entity, persister, after).forEach(counter -> deltas.merge(counter, 1, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        dashboardCounterService.record(deltas);
+    }
+
+    private Set<Counter> countedIn(Object entity, EntityPersister persister, Object[] state) {
+        Set<Counter> counters = EnumSet.noneOf(Counter.class);
+        if (state == null) {
+            return counters;
+        }
+
+        if (entity instanceof User) {
+            counters.add(Counter.TOTAL_USERS);
+            if (property(persister, state, "role") == Role.SELLER) {
+                counters.add(Counter.TOTAL_SELLERS);
+            }
+        } else if (entity instanceof Product) {
+            if (Boolean.TRUE.equals(property(persister, state, "active"))) {
+                counters.add(Counter.TOTAL_PRODUCTS);
+            }
+            if (property(persister, state, "approvalStatus") == ProductApprovalStatus.PENDING_REVIEW) {
+                counters.add(Counter.PENDING_PRODUCT_REVIEWS);
+            }
+        } else if (entity instanceof SellerProfile) {
+            if (property(persister, state, "status") == SellerApprovalStatus.PENDING_REVIEW) {
+                counters.add(Counter.PENDING_SELLER_APPLICATIONS);
+            }
+        } else {
+            counters.add(Counter.TOTAL_ORDERS);
+            Object status = property(persister, state, "status");
+            if (status == Order.OrderStatus.PENDING) {
+                counters.add(Counter.PENDING_ORDERS);
+            } else if (status == Order.OrderStatus.SHIPPED) {
+                counters.add(Counter.SHIPPED_ORDERS);
+            } else if (status == Order.OrderStatus.DELIVERED) {
+                counters.add(Counter.DELIVERED_ORDERS);
+            }
+        }
+        return counters;
+    }
+
+    private Object property(EntityPersister persister, Object[] state, String name) {
+        int index = Arrays.asList(persister.getPropertyNames()).indexOf(name);
+        return index < 0 ? null : state[index];
+    }
+}
@@ -0,0 +1,190 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.model.DashboardCounters;
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.ProductApprovalStatus;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.SellerApprovalStatus;
+import com.luxe.ecommerce.repository.DashboardCountersRepository;
+import com.luxe.ecommerce.repository.OrderRepository;
+import com.luxe.ecommerce.repository.ProductRepository;
+import com.luxe.ecommerce.repository.SellerProfileRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Admin dashboard counts served from the single {@code dashboard_counters} row.
+ * <p>
+ * Committed changes arrive as deltas (see {@link DashboardCounterListener}), are buffered in memory
+ * and applied to the row in one UPDATE per flush, so checkouts never contend on the counter row.
+ * A periodic reconciliation overwrites the row with exact counts to correct any drift, e.g. from
+ * bulk JDBC writes or deltas lost in a crash.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterService {
+
+    private final DashboardCountersRepository dashboardCountersRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final SellerProfileRepository sellerProfileRepository;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Counter, LongAdder> pending = createBuffer();
+
+    public Map<String, Object> getStats() {
+        DashboardCounters counters = dashboardCountersRepository.findById(DashboardCounters.SINGLETON_ID)
+                .orElseGet(this::reconcile);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            // Include this instance's unflushed deltas so an admin sees their own changes immediately
+            stats.put(counter.statKey, counter.read(counters) + pending.get(counter).sum());
+        }
+        return stats;
+    }
+
+    /**
+     * Adds deltas once the current transaction commits; deltas of a rolled-back transaction are dropped.
+     */
+    public void record(Map<Counter, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deltas.forEach((counter, delta) -> pending.get(counter).add(delta));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deltas.forEach((counter, delta) -> pending.get(counter).add(delta));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Counter, Long> deltas = new EnumMap<>(Counter.class);
+        pending.forEach((counter, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(counter, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE dashboard_counters SET ");
+        List<Object> args = new ArrayList<>();
+        deltas.forEach((counter, delta) -> {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(counter.column).append(" = ").append(counter.column).append(" + ?");
+            args.add(delta);
+        });
+        sql.append(" WHERE id = ?");
+        args.add(DashboardCounters.SINGLETON_ID);
+
+        try {
+            if (jdbcTemplate.update(sql.toString(), args.toArray()) == 0) {
+                // No row yet: exact counts already include these deltas
+                reconcile();
+            }
+        } catch (RuntimeException ex) {
+            deltas.forEach((counter, delta) -> pending.get(counter).add(delta));
+            log.warn("Failed to flush dashboard counters; will retry: {}", ex.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.error("Dashboard counter reconciliation failed; /admin/stats will retry on demand", ex);
+        }
+    }
+
+    /**
+     * Replaces the stored counts with exact ones. Writes committing while the counts run may be
+     * off by their own delta until the next reconciliation.
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.reconcile-interval-ms:600000}",
+            fixedDelayString = "${app.dashboard.reconcile-interval-ms:600000}")
+    public DashboardCounters reconcile() {
+        pending.values().forEach(LongAdder::reset);
+
+        DashboardCounters counters = DashboardCounters.builder()
+                .id(DashboardCounters.SINGLETON_ID)
+                .totalUsers(userRepository.count())
+                .totalSellers(userRepository.countByRole(Role.SELLER))
+                .totalProducts(productRepository.countByActiveTrue())
+                .pendingSellerApplications(sellerProfileRepository.countByStatus(SellerApprovalStatus.PENDING_REVIEW))
+                .pendingProductReviews(productRepository.countByApprovalStatus(ProductApprovalStatus.PENDING_REVIEW))
+                .totalOrders(orderRepository.count())
+                .pendingOrders(orderRepository.countByStatus(Order.OrderStatus.PENDING))
+                .shippedOrders(orderRepository.countByStatus(Order.OrderStatus.SHIPPED))
+                .deliveredOrders(orderRepository.countByStatus(Order.OrderStatus.DELIVERED))
+                .reconciledAt(LocalDateTime.now())
+                .build();
+        return dashboardCountersRepository.save(counters);
+    }
+
+    private static Map<Counter, LongAdder> createBuffer() {
+        Map<Counter, LongAdder> buffer = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            buffer.put(counter, new LongAdder());
+        }
+        return buffer;
+    }
+
+    public enum Counter {
+        TOTAL_USERS("totalUsers", "total_users", DashboardCounters::getTotalUsers),
+        TOTAL_SELLERS("totalSellers", "total_sellers", DashboardCounters::getTotalSellers),
+        TOTAL_PRODUCTS("totalProducts", "total_products", DashboardCounters::getTotalProducts),
+        PENDING_SELLER_APPLICATIONS("pendingSellerApplications", "pending_seller_applications",
+                DashboardCounters::getPendingSellerApplications),
+        PENDING_PRODUCT_REVIEWS("pendingProductReviews", "pending_product_reviews",
+                DashboardCounters::getPendingProductReviews),
+        TOTAL_ORDERS("totalOrders", "total_orders", DashboardCounters::getTotalOrders),
+        PENDING_ORDERS("pendingOrders", "pending_orders", DashboardCounters::getPendingOrders),
+        SHIPPED_ORDERS("shippedOrders", "shipped_orders", DashboardCounters::getShippedOrders),
+        DELIVERED_ORDERS("deliveredOrders", "delivered_orders", DashboardCounters::getDeliveredOrders);
+
+        private final String statKey;
+        private final String column;
+        private final ToLongFunction<DashboardCounters> reader;
+
+        Counter(String statKey, String column, ToLongFunction<DashboardCounters> reader) {
+            this.statKey = statKey;
+            this.column = column;
+            this.reader = reader;
+        }
+
+        long read(DashboardCounters counters) {
+            return reader.applyAsLong(counters);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.StockReservation;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.ProductStockRepository;
+import com.luxe.ecommerce.repository.StockReservationRepository;
+import com.luxe.ecommerce.repository.StockReservationView;
+import com.luxe.ecommerce.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Short-lived stock holds placed when a cart proceeds to checkout.
+ * <p>
+ * The ledger of active holds lives in memory, guarded by lock stripes keyed on product ID, and is
+ * mirrored to {@code stock_reservations} so it survives a restart. Product stock itself is still
+ * only taken by the conditional decrement at order time; holds raise the floor that decrement must
+ * leave for other shoppers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReservationService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
+    private final UserRepository userRepository;
+    private final ProductStockRepository productStockRepository;
+
+    @Value("${app.inventory.hold-ttl:10m}")
+    private Duration holdTtl;
+
+    private final ReentrantLock[] stripes = createStripes();
+    private final Map<Long, Map<Long, Hold>> holdsByProduct = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> productsByUser = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        try {
+            List<StockReservationView> active = stockReservationRepository.findActive(LocalDateTime.now());
+            active.forEach(view -> putHold(view.getUserId(), view.getProductId(),
+                    new Hold(view.getQuantity(), view.getExpiresAt())));
+            log.info("Loaded {} active stock reservation(s)", active.size());
+        } catch (RuntimeException ex) {
+            log.error("Failed to load stock reservations; starting with an empty ledger", ex);
+        }
+    }
+
+    @Transactional
+    public CartDto.ReservationResponse reserveCart(String email) {
+        cartStore.flush(email);
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        List<CartItem> cartItems = cartItemRepository.findByUser(user);
+        if (cartItems.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty");
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        Map<Long, Product> products = new HashMap<>();
+        for (CartItem item : cartItems) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            products.put(item.getProduct().getId(), item.getProduct());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(holdTtl);
+        List<ReentrantLock> locks = lockAll(quantities.keySet());
+        try {
+            // Read under the stripes: a checkout may have taken stock since the cart was loaded
+            Map<Long, Integer> stock = productStockRepository.findStock(quantities.keySet());
+            for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+                Product product = products.get(line.getKey());
+                int available = stock.getOrDefault(line.getKey(), 0) - reservedByOthers(line.getKey(), user.getId(), now);
+                if (available < line.getValue()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Only " + Math.max(available, 0) + " left for product: " + product.getName());
+                }
+            }
+            releaseLedger(user.getId());
+            quantities.forEach((productId, quantity) -> putHold(user.getId(), productId, new Hold(quantity, expiresAt)));
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+        onRollback(() -> releaseLedger(user.getId()));
+
+        stockReservationRepository.deleteByUser(user);
+        stockReservationRepository.saveAll(quantities.entrySet().stream()
+                .map(line -> StockReservation.builder()
+                        .user(user)
+                        .product(products.get(line.getKey()))
+                        .quantity(line.getValue())
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList());
+
+        CartDto.ReservationResponse response = new CartDto.ReservationResponse();
+        response.setExpiresAt(expiresAt);
+        response.setItemCount(quantities.values().stream().mapToInt(Integer::intValue).sum());
+        return response;
+    }
+
+    /**
+     * Takes stock for an order while leaving other shoppers' holds untouched, and consumes the buyer's
+     * own holds. Must run inside the order transaction so a failure rolls the decrement back.
+     *
+     * @return IDs of products that could not be covered
+     */
+    public List<Long> takeStock(User user, Map<Long, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReentrantLock> locks = lockAll(quantities.keySet());
+        try {
+            Map<Long, Integer> floors = new HashMap<>();
+            quantities.keySet().forEach(productId -> floors.put(productId, reservedByOthers(productId, user.getId(), now)));
+
+            List<Long> shortages = productStockRepository.decrementAll(quantities, floors);
+            if (shortages.isEmpty() && productsByUser.containsKey(user.getId())) {
+                stockReservationRepository.deleteByUser(user);
+                onCommit(() -> releaseLedger(user.getId()));
+            }
+            return shortages;
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.sweep-interval-ms:30000}")
+    @Transactional
+    public void releaseExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long productId : List.copyOf(holdsByProduct.keySet())) {
+            // Under the product's stripe, so a hold being placed is never dropped with an emptied map
+            ReentrantLock lock = stripes[stripeIndex(productId)];
+            lock.lock();
+            try {
+                holdsByProduct.computeIfPresent(productId, (key, holds) -> {
+                    holds.entrySet().removeIf(entry -> {
+                        if (entry.getValue().isActive(now)) {
+                            return false;
+                        }
+                        productsByUser.computeIfPresent(entry.getKey(), (userId, productIds) -> {
+                            productIds.remove(productId);
+                            return productIds.isEmpty() ? null : productIds;
+                        });
+                        return true;
+                    });
+                    return holds.isEmpty() ? null : holds;
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int deleted = stockReservationRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.debug("Released {} expired stock reservation(s)", deleted);
+        }
+    }
+
+    private int reservedByOthers(Long productId, Long userId, LocalDateTime now) {
+        Map<Long, Hold> holds = holdsByProduct.get(productId);
+        if (holds == null) {
+            return 0;
+        }
+        int reserved = 0;
+        for (Map.Entry<Long, Hold> entry : holds.entrySet()) {
+            if (!entry.getKey().equals(userId) && entry.getValue().isActive(now)) {
+                reserved += entry.getValue().quantity();
+            }
+        }
+        return reserved;
+    }
+
+    private void putHold(Long userId, Long productId, Hold hold) {
+        holdsByProduct.compute(productId, (key, holds) -> {
+            Map<Long, Hold> updated = holds == null ? new ConcurrentHashMap<>() : holds;
+            updated.put(userId, hold);
+            return updated;
+        });
+        productsByUser.compute(userId, (key, productIds) -> {
+            Set<Long> updated = productIds == null ? ConcurrentHashMap.newKeySet() : productIds;
+            updated.add(productId);
+            return updated;
+        });
+    }
+
+    private void releaseLedger(Long userId) {
+        Set<Long> productIds = productsByUser.remove(userId);
+        if (productIds == null) {
+            return;
+        }
+        for (Long productId : productIds) {
+            holdsByProduct.computeIfPresent(productId, (key, holds) -> {
+                holds.remove(userId);
+                return holds.isEmpty() ? null : holds;
+            });
+        }
+    }
+
+    private List<ReentrantLock> lockAll(Collection<Long> productIds) {
+        Set<Integer> stripeIndexes = new TreeSet<>();
+        productIds.forEach(productId -> stripeIndexes.add(stripeIndex(productId)));
+
+        List<ReentrantLock> locks = new ArrayList<>(stripeIndexes.size());
+        for (Integer index : stripeIndexes) {
+            ReentrantLock lock = stripes[index];
+            lock.lock();
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+    private static int stripeIndex(Long productId) {
+        return Math.floorMod(productId.hashCode(), LOCK_STRIPES);
+    }
+
+    private void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private record Hold(int quantity, LocalDateTime expiresAt) {
+
+        boolean isActive(LocalDateTime now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.function.Function;
+
+/**
+ * Reads and writes {@code cart_items} directly; must be called inside the caller's transaction. Every
+ * operation loads the cart with one fetch-joined query and changes the loaded entities.
+ */
+@Component
+@ConditionalOnProperty(value = "app.cart.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaCartStore implements CartStore {
+
+    private final CartItemRepository cartItemRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public List<CartLine> getLines(String email) {
+        return toLines(cartItemRepository.findCartWithProducts(email));
+    }
+
+    @Override
+    public List<CartLine> addQuantity(String email, Long productId, int quantity, Function<Long, Product> productLoader) {
+        List<CartItem> items = cartItemRepository.findCartWithProducts(email);
+        Optional<CartItem> existing = items.stream()
+                .filter(item -> item.getProduct().getId().equals(productId))
+                .findFirst();
+
+        if (existing.isPresent()) {
+            CartItem item = existing.get();
+            item.setQuantity(item.getQuantity() + quantity);
+        } else {
+            items.add(createItem(email, items, productLoader.apply(productId), quantity));
+        }
+        return toLines(items);
+    }
+
+    @Override
+    public Optional<List<CartLine>> setQuantity(String email, Long lineId, int quantity) {
+        List<CartItem> items = cartItemRepository.findCartWithProducts(email);
+        Optional<CartItem> line = items.stream()
+                .filter(item -> item.getId().equals(lineId))
+                .findFirst();
+        if (line.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CartItem item = line.get();
+        if (quantity <= 0) {
+            cartItemRepository.delete(item);
+            items.remove(item);
+        } else {
+            item.setQuantity(quantity);
+        }
+        return Optional.of(toLines(items));
+    }
+
+    @Override
+    public Optional<List<CartLine>> applyOperations(String email, List<CartDto.CartOperation> operations, Map<Long, Product> products) {
+        List<CartItem> items = cartItemRepository.findCartWithProducts(email);
+        Set<Long> itemIds = items.stream().map(CartItem::getId).collect(Collectors.toSet());
+        if (operations.stream().anyMatch(op -> op.getItemId() != null && !itemIds.contains(op.getItemId()))) {
+            return Optional.empty();
+        }
+
+        // Deletes wait for the flush while inserts run at once; a product removed and added again in the
+        // same batch needs its delete sent first, or the insert hits uk_cart_items_user_product
+        boolean pendingDeletes = false;
+        for (CartDto.CartOperation op : operations) {
+            // A line removed by an earlier operation is simply gone for the later ones
+            CartItem item = items.stream()
+                    .filter(candidate -> op.getItemId() != null
+                            ? candidate.getId().equals(op.getItemId())
+                            : candidate.getProduct().getId().equals(op.getProductId()))
+                    .findFirst()
+                    .orElse(null);
+            int quantity = op.getQuantity() == null ? 0 : op.getQuantity();
+
+            switch (op.getOp()) {
+                case ADD -> {
+                    if (item == null) {
+                        pendingDeletes = flushDeletes(pendingDeletes);
+                        items.add(createItem(email, items, products.get(op.getProductId()), quantity));
+                    } else {
+                        item.setQuantity(item.getQuantity() + quantity);
+                    }
+                }
+                case SET -> {
+                    if (item != null && quantity <= 0) {
+                        cartItemRepository.delete(item);
+                        items.remove(item);
+                        pendingDeletes = true;
+                    } else if (item != null) {
+                        item.setQuantity(quantity);
+                    } else if (op.getItemId() == null && quantity > 0) {
+                        pendingDeletes = flushDeletes(pendingDeletes);
+                        items.add(createItem(email, items, products.get(op.getProductId()), quantity));
+                    }
+                }
+                case REMOVE -> {
+                    if (item != null) {
+                        cartItemRepository.delete(item);
+                        items.remove(item);
+                        pendingDeletes = true;
+                    }
+                }
+            }
+        }
+        return Optional.of(toLines(items));
+    }
+
+    @Override
+    public void removeLines(String email, Collection<Long> lineIds) {
+        cartItemRepository.deleteAllByIdInBatch(lineIds);
+    }
+
+    @Override
+    public void clear(String email) {
+        cartItemRepository.deleteByUser(getUser(email));
+    }
+
+    @Override
+    public void flush(String email) {
+        // Every change is already in cart_items
+    }
+
+    private boolean flushDeletes(boolean pendingDeletes) {
+        if (pendingDeletes) {
+            cartItemRepository.flush();
+        }
+        return false;
+    }
+
+    private CartItem createItem(String email, List<CartItem> items, Product product, int quantity) {
+        // Any loaded line already carries an uninitialized reference to the owner
+        User user = items.isEmpty() ? getUser(email) : items.get(0).getUser();
+        return cartItemRepository.save(CartItem.builder()
+                .user(user).product(product).quantity(quantity).build());
+    }
+
+    private List<CartLine> toLines(List<CartItem> items) {
+        return items.stream()
+                .map(item -> new CartLine(item.getId(), item.getProduct(), item.getQuantity()))
+                .toList();
+    }
+
+    private User getUser(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.luxe.ecommerce.service;
 
 import com.luxe.ecommerce.dto.SellerDto;
+import com.luxe.ecommerce.event.ProductChangedEvent;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.ProductApprovalStatus;
 import com.luxe.ecommerce.model.SellerApprovalStatus;
@@ -8,6 +9,7 @@ import com.luxe.ecommerce.model.SellerProfile;
 import com.luxe.ecommerce.repository.ProductRepository;
 import com.luxe.ecommerce.repository.SellerProfileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,7 @@ public class MarketplaceAdminService {
     private final SellerProfileRepository sellerProfileRepository;
     private final ProductRepository productRepository;
     private final SellerService sellerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<SellerDto.SellerProfileResponse> getPendingSellerProfiles(Pageable pageable) {
@@ -58,6 +61,8 @@ public class MarketplaceAdminService {
         product.setAdminNotes(request.getAdminNotes());
         product.setReviewedAt(LocalDateTime.now());
 
-        return sellerService.mapProduct(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
+        return sellerService.mapProduct(saved);
     }
 }
@@ -0,0 +1,125 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.event.OrderLifecycleEvent;
+import com.luxe.ecommerce.repository.OrderEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers the {@code order_events} outbox to in-process {@link OrderLifecycleEvent} listeners.
+ * <p>
+ * Each poll claims a batch of due events with a lease, publishes them one by one, then settles the
+ * whole batch in one transaction: delivered events are deleted, failed ones are rescheduled with
+ * exponential backoff, and events out of attempts are moved to {@code order_event_dead_letters}.
+ * Anything left unsettled, e.g. by a crash, is delivered again once its lease expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OrderEventRepository orderEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.order-events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.order-events.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.order-events.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${app.order-events.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    // Must comfortably exceed the time listeners need for one batch
+    @Value("${app.order-events.lease:5m}")
+    private Duration lease;
+
+    @Scheduled(fixedDelayString = "${app.order-events.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        try {
+            int dispatched;
+            do {
+                dispatched = dispatchBatch();
+            } while (dispatched == batchSize);
+        } catch (RuntimeException ex) {
+            log.error("Order event dispatch failed; undelivered events are retried after their lease", ex);
+        }
+    }
+
+    /**
+     * @return the number of events claimed
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEventRepository.StoredEvent> events = orderEventRepository.claimDue(now, now.plus(lease), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        List<OrderEventRepository.Retry> retries = new ArrayList<>();
+        List<OrderEventRepository.DeadLetter> deadLetters = new ArrayList<>();
+        for (OrderEventRepository.StoredEvent event : events) {
+            try {
+                eventPublisher.publishEvent(readPayload(event).withEventId(event.id()));
+                delivered.add(event.id());
+            } catch (RuntimeException ex) {
+                int attempts = event.attempts() + 1;
+                String error = truncate(ex.toString());
+                if (attempts >= maxAttempts) {
+                    log.error("Order event {} ({}) for order {} failed {} times; moving it to the dead-letter table",
+                            event.id(), event.type(), event.orderId(), attempts, ex);
+                    deadLetters.add(new OrderEventRepository.DeadLetter(event, attempts, error));
+                } else {
+                    log.warn("Order event {} ({}) for order {} failed on attempt {}: {}",
+                            event.id(), event.type(), event.orderId(), attempts, ex.toString());
+                    retries.add(new OrderEventRepository.Retry(event.id(), attempts, LocalDateTime.now().plus(backoff(attempts)), error));
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            orderEventRepository.deleteAll(delivered);
+            orderEventRepository.rescheduleAll(retries);
+            orderEventRepository.moveToDeadLetters(deadLetters);
+        });
+        return events.size();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private OrderLifecycleEvent readPayload(OrderEventRepository.StoredEvent event) {
+        try {
+            return objectMapper.readValue(event.payload(), OrderLifecycleEvent.class);
+        } catch (JsonProcessingException ex) {
+            // Unreadable payloads fail like a listener would and end up in the dead-letter table
+            throw new IllegalStateException("Unreadable order event payload", ex);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,60 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.event.OrderLifecycleEvent;
+import com.luxe.ecommerce.repository.OrderEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records order lifecycle events in the {@code order_events} outbox as part of the caller's transaction.
+ * Events recorded during one transaction are written together in a single JDBC batch just before it
+ * commits; {@link OrderEventDispatcher} delivers them afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderEventOutbox {
+
+    private final OrderEventRepository orderEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @SuppressWarnings("unchecked")
+    public void record(OrderLifecycleEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Order events must be recorded inside the transaction that changes the order");
+        }
+
+        List<OrderEventRepository.NewEvent> pending = (List<OrderEventRepository.NewEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OrderEventRepository.NewEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    orderEventRepository.insertAll(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderEventOutbox.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(new OrderEventRepository.NewEvent(event.orderId(), event.type(), writePayload(event)));
+    }
+
+    private String writePayload(OrderLifecycleEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize order event", ex);
+        }
+    }
+}
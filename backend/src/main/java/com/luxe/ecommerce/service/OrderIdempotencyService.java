@@ -0,0 +1,222 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.model.OrderIdempotencyKey;
+import com.luxe.ecommerce.repository.OrderIdempotencyKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Places an order at most once per {@code Idempotency-Key} and user.
+ * <p>
+ * A duplicate that arrives while the first request is still running waits for its outcome instead of
+ * running checkout again. Completed keys answer from an in-memory table, falling back to
+ * {@code order_idempotency_keys}, which is written in the order's own transaction and so also covers
+ * restarts and other instances. Failed attempts are not remembered: retrying the key runs checkout again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.orders.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.orders.idempotency.max-cached-keys:10000}")
+    private long maxCachedKeys;
+
+    // How long a duplicate waits for the request it duplicates before giving up with 409
+    @Value("${app.orders.idempotency.wait-timeout:30s}")
+    private Duration waitTimeout;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, StoredResult> completed;
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(maxCachedKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Result placeOrder(String email, String idempotencyKey, OrderDto.CreateOrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = email + "\n" + idempotencyKey;
+        String requestHash = requestHash(request);
+
+        StoredResult cached = completed.getIfPresent(scopedKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        InFlight attempt = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scopedKey, attempt);
+        if (running != null) {
+            return awaitDuplicate(running, requestHash);
+        }
+
+        try {
+            Result result = execute(email, idempotencyKey, requestHash, request);
+            completed.put(scopedKey, new StoredResult(requestHash, result.response()));
+            attempt.outcome().complete(result.response());
+            return result;
+        } catch (RuntimeException ex) {
+            attempt.outcome().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(scopedKey, attempt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired order idempotency key(s)", purged);
+        }
+    }
+
+    private Result execute(String email, String idempotencyKey, String requestHash, OrderDto.CreateOrderRequest request) {
+        Optional<StoredResult> stored = findStored(email, idempotencyKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), requestHash);
+        }
+
+        try {
+            OrderDto.OrderResponse response = transactionTemplate.execute(status -> {
+                OrderDto.OrderResponse placed = orderService.placeOrder(email, request);
+                idempotencyKeyRepository.deleteExpired(email, idempotencyKey, LocalDateTime.now().minus(ttl));
+                idempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                        .userEmail(email)
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .orderId(placed.getId())
+                        .responseJson(writeResponse(placed))
+                        .build());
+                return placed;
+            });
+            return new Result(response, false);
+        } catch (RuntimeException ex) {
+            // Another instance may have committed the same key first, which usually leaves this attempt
+            // with an empty cart or a duplicate key; its order is the answer
+            Optional<StoredResult> winner = findStored(email, idempotencyKey);
+            if (winner.isPresent()) {
+                return replay(winner.get(), requestHash);
+            }
+            throw ex;
+        }
+    }
+
+    private Result awaitDuplicate(InFlight running, String requestHash) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        try {
+            return new Result(running.outcome().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS), true);
+        } catch (ExecutionException ex) {
+            // The duplicate gets the same failure as the request it duplicated
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An order with this Idempotency-Key is still being placed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original order");
+        }
+    }
+
+    // Rows past the TTL are only waiting for the purge and no longer answer for their key
+    private Optional<StoredResult> findStored(String email, String idempotencyKey) {
+        return idempotencyKeyRepository.findLive(email, idempotencyKey, LocalDateTime.now().minus(ttl))
+                .map(key -> new StoredResult(key.getRequestHash(), readResponse(key.getResponseJson())));
+    }
+
+    private Result replay(StoredResult stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        return new Result(stored.response(), true);
+    }
+
+    private ResponseStatusException keyReused() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used for a different order request");
+    }
+
+    private String requestHash(OrderDto.CreateOrderRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize order request", ex);
+        }
+    }
+
+    private String writeResponse(OrderDto.OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize order response", ex);
+        }
+    }
+
+    private OrderDto.OrderResponse readResponse(String json) {
+        try {
+            return objectMapper.readValue(json, OrderDto.OrderResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable stored order response", ex);
+        }
+    }
+
+    /**
+     * @param replayed true when the order was placed by an earlier request with the same key
+     */
+    public record Result(OrderDto.OrderResponse response, boolean replayed) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<OrderDto.OrderResponse> outcome) {
+    }
+
+    private record StoredResult(String requestHash, OrderDto.OrderResponse response) {
+    }
+}
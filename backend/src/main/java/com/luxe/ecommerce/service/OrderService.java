@@ -1,17 +1,27 @@
 package com.luxe.ecommerce.service;
 
+import com.luxe.ecommerce.dto.CursorPage;
+import com.luxe.ecommerce.dto.KeysetCursor;
 import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.event.OrderLifecycleEvent;
+import com.luxe.ecommerce.event.ProductStockChangedEvent;
 import com.luxe.ecommerce.model.*;
 import com.luxe.ecommerce.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,8 +30,13 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventOutbox orderEventOutbox;
+    private final OrderSummaryService orderSummaryService;
 
     // ==============================
     // PLACE ORDER (WITH STOCK LOGIC)
@@ -29,6 +44,8 @@ public class OrderService {
     @Transactional
     public OrderDto.OrderResponse placeOrder(String email, OrderDto.CreateOrderRequest request) {
 
+        // The cart is read from cart_items below; a write-behind store may still hold changes for it
+        cartStore.flush(email);
         User user = getUser(email);
         List<CartItem> cartItems = cartItemRepository.findByUser(user);
 
@@ -36,8 +53,9 @@ public class OrderService {
             throw new RuntimeException("Cart is empty");
 
         BigDecimal total = BigDecimal.ZERO;
+        Map<Long, Integer> quantities = new HashMap<>();
 
-        // 🔒 Validate & Deduct Stock
+        // 🔒 Validate
         for (CartItem cartItem : cartItems) {
 
             Product product = cartItem.getProduct();
@@ -53,15 +71,26 @@ public class OrderService {
                         "Not enough stock for product: " + product.getName());
             }
 
-            // Deduct stock
-            product.setStock(product.getStock() - cartItem.getQuantity());
-            productRepository.save(product);
+            quantities.merge(product.getId(), cartItem.getQuantity(), Integer::sum);
 
             total = total.add(
                     product.getPrice()
                             .multiply(BigDecimal.valueOf(cartItem.getQuantity())));
         }
 
+        // 🔒 Deduct stock atomically, converting this user's holds; a concurrent checkout may have
+        // taken it since the read above
+        List<Long> shortages = inventoryReservationService.takeStock(user, quantities);
+        if (!shortages.isEmpty()) {
+            String productName = cartItems.stream()
+                    .map(CartItem::getProduct)
+                    .filter(product -> product.getId().equals(shortages.get(0)))
+                    .map(Product::getName)
+                    .findFirst()
+                    .orElse("#" + shortages.get(0));
+            throw new RuntimeException("Not enough stock for product: " + productName);
+        }
+
         Order order = Order.builder()
                 .user(user)
                 .totalAmount(total)
@@ -76,16 +105,24 @@ public class OrderService {
                         .product(cartItem.getProduct())
                         .quantity(cartItem.getQuantity())
                         .price(cartItem.getProduct().getPrice())
+                        .productName(cartItem.getProduct().getName())
+                        .productImage(cartItem.getProduct().getMainImageUrl())
                         .build())
                 .collect(Collectors.toList());
 
         order.setItems(orderItems);
 
         Order saved = orderRepository.save(order);
+        orderSummaryService.recordPlaced(saved);
+        orderEventOutbox.record(lifecycleEvent(OrderEvent.EventType.ORDER_PLACED, saved, email, null));
 
         cartItemRepository.deleteByUser(user);
 
-        return mapToResponse(saved);
+        eventPublisher.publishEvent(new ProductStockChangedEvent(cartItems.stream()
+                .map(cartItem -> cartItem.getProduct().getId())
+                .collect(Collectors.toSet())));
+
+        return mapToResponse(saved, saved.getItems().stream().map(this::toItemResponse).collect(Collectors.toList()));
     }
 
     // ==============================
@@ -94,9 +131,25 @@ public class OrderService {
     @Transactional(readOnly = true)
     public Page<OrderDto.OrderResponse> getUserOrders(String email, Pageable pageable) {
         User user = getUser(email);
-        return orderRepository
-                .findByUserOrderByCreatedAtDesc(user, pageable)
-                .map(this::mapToResponse);
+        Page<Order> orders = orderRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+        return orders.map(responseMapper(orders.getContent()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto.OrderResponse> getUserOrdersAfter(String email, String after, int size) {
+        User user = getUser(email);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Order> orders;
+        if (after == null || after.isBlank()) {
+            orders = orderRepository.findByUserNewestFirst(user, limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            orders = orderRepository.findByUserBefore(user, cursor.createdAt(), cursor.id(), limit);
+        }
+
+        CursorPage<Order> page = CursorPage.of(orders, size, this::cursorOf);
+        return page.map(responseMapper(page.getContent()));
     }
 
     @Transactional(readOnly = true)
@@ -109,7 +162,7 @@ public class OrderService {
             throw new RuntimeException("Access denied");
         }
 
-        return mapToResponse(order);
+        return responseMapper(List.of(order)).apply(order);
     }
 
     // ==============================
@@ -117,9 +170,24 @@ public class OrderService {
     // ==============================
     @Transactional(readOnly = true)
     public Page<OrderDto.OrderResponse> getAllOrders(Pageable pageable) {
-        return orderRepository
-                .findAllByOrderByCreatedAtDesc(pageable)
-                .map(this::mapToResponse);
+        Page<Order> orders = orderRepository.findAllByOrderByCreatedAtDesc(pageable);
+        return orders.map(responseMapper(orders.getContent()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto.OrderResponse> getAllOrdersAfter(String after, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Order> orders;
+        if (after == null || after.isBlank()) {
+            orders = orderRepository.findAllNewestFirst(limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            orders = orderRepository.findAllBefore(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        CursorPage<Order> page = CursorPage.of(orders, size, this::cursorOf);
+        return page.map(responseMapper(page.getContent()));
     }
 
     @Transactional
@@ -134,22 +202,51 @@ public class OrderService {
         if (newStatus == Order.OrderStatus.CANCELLED &&
                 order.getStatus() != Order.OrderStatus.CANCELLED) {
 
+            Map<Long, Integer> quantities = new HashMap<>();
             for (OrderItem item : order.getItems()) {
-                Product product = item.getProduct();
-                product.setStock(product.getStock() + item.getQuantity());
-                productRepository.save(product);
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
             }
+            productStockRepository.restoreAll(quantities);
+
+            eventPublisher.publishEvent(new ProductStockChangedEvent(order.getItems().stream()
+                    .map(item -> item.getProduct().getId())
+                    .collect(Collectors.toSet())));
         }
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
+        if (newStatus != previousStatus) {
+            orderEventOutbox.record(lifecycleEvent(OrderEvent.EventType.ORDER_STATUS_CHANGED, order,
+                    order.getUser().getEmail(), previousStatus));
+        }
 
-        return mapToResponse(orderRepository.save(order));
+        Order saved = orderRepository.save(order);
+        if (newStatus != previousStatus) {
+            orderSummaryService.recordStatus(saved);
+        }
+        return responseMapper(List.of(saved)).apply(saved);
     }
 
     // ==============================
     // MAPPER
     // ==============================
-    private OrderDto.OrderResponse mapToResponse(Order order) {
+    /**
+     * Loads the items of all the given orders with one projection query, so mapping a page never
+     * touches the lazy item or product associations.
+     */
+    private Function<Order, OrderDto.OrderResponse> responseMapper(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return order -> mapToResponse(order, List.of());
+        }
+
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        Map<Long, List<OrderDto.OrderItemResponse>> itemsByOrder = orderRepository.findItemViewsByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemView::getOrderId,
+                        Collectors.mapping(this::toItemResponse, Collectors.toList())));
+        return order -> mapToResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of()));
+    }
+
+    private OrderDto.OrderResponse mapToResponse(Order order, List<OrderDto.OrderItemResponse> items) {
 
         OrderDto.OrderResponse r = new OrderDto.OrderResponse();
 
@@ -160,20 +257,41 @@ public class OrderService {
         r.setPaymentMethod(order.getPaymentMethod());
         r.setTrackingNumber(order.getTrackingNumber());
         r.setCreatedAt(order.getCreatedAt());
-
-        r.setItems(order.getItems().stream().map(item -> {
-            OrderDto.OrderItemResponse ir = new OrderDto.OrderItemResponse();
-            ir.setProductId(item.getProduct().getId());
-            ir.setProductName(item.getProduct().getName());
-            ir.setProductImage(item.getProduct().getMainImageUrl());
-            ir.setQuantity(item.getQuantity());
-            ir.setPrice(item.getPrice());
-            return ir;
-        }).collect(Collectors.toList()));
+        r.setItems(items);
 
         return r;
     }
 
+    private OrderDto.OrderItemResponse toItemResponse(OrderItemView item) {
+        OrderDto.OrderItemResponse ir = new OrderDto.OrderItemResponse();
+        ir.setProductId(item.getProductId());
+        ir.setProductName(item.getProductName());
+        ir.setProductImage(item.getProductImage());
+        ir.setQuantity(item.getQuantity());
+        ir.setPrice(item.getPrice());
+        return ir;
+    }
+
+    // For items created in this transaction, which carry their snapshot and an already loaded product
+    private OrderDto.OrderItemResponse toItemResponse(OrderItem item) {
+        OrderDto.OrderItemResponse ir = new OrderDto.OrderItemResponse();
+        ir.setProductId(item.getProduct().getId());
+        ir.setProductName(item.getProductName());
+        ir.setProductImage(item.getProductImage());
+        ir.setQuantity(item.getQuantity());
+        ir.setPrice(item.getPrice());
+        return ir;
+    }
+
+    private OrderLifecycleEvent lifecycleEvent(OrderEvent.EventType type, Order order, String email, Order.OrderStatus previousStatus) {
+        return new OrderLifecycleEvent(null, type, order.getId(), email, order.getStatus().name(),
+                previousStatus == null ? null : previousStatus.name(), order.getTotalAmount(), LocalDateTime.now());
+    }
+
+    private KeysetCursor cursorOf(Order order) {
+        return new KeysetCursor(order.getCreatedAt(), order.getId());
+    }
+
     private User getUser(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -0,0 +1,102 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CursorPage;
+import com.luxe.ecommerce.dto.KeysetCursor;
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.OrderItem;
+import com.luxe.ecommerce.model.OrderSummary;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.OrderSummaryRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Maintains {@code order_summaries}, the read model behind the order history list. Rows are written in
+ * the transaction that places an order or changes its status, so the list is never behind the orders.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSummaryService {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPlaced(Order order) {
+        List<OrderItem> items = order.getItems();
+        orderSummaryRepository.save(OrderSummary.builder()
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .itemCount(items.size())
+                .thumbnailUrl(items.isEmpty() ? null : items.get(0).getProductImage())
+                .createdAt(order.getCreatedAt())
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatus(Order order) {
+        if (orderSummaryRepository.updateStatus(order.getId(), order.getStatus()) == 0) {
+            // Not backfilled yet; written from the order row, which already has the new status
+            orderSummaryRepository.insertMissing(order.getId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto.OrderSummaryResponse> getUserSummaries(String email, String after, int size) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<OrderSummary> summaries;
+        if (after == null || after.isBlank()) {
+            summaries = orderSummaryRepository.findByUserNewestFirst(user.getId(), limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            summaries = orderSummaryRepository.findByUserBefore(user.getId(), cursor.createdAt(), cursor.id(), limit);
+        }
+
+        return CursorPage.of(summaries, size, summary -> new KeysetCursor(summary.getCreatedAt(), summary.getOrderId()))
+                .map(this::toResponse);
+    }
+
+    public int backfillMissing() {
+        return orderSummaryRepository.insertMissing();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            int written = backfillMissing();
+            if (written > 0) {
+                log.info("Backfilled {} order summar{}", written, written == 1 ? "y" : "ies");
+            }
+        } catch (RuntimeException ex) {
+            log.error("Order summary backfill failed; orders without a summary stay out of the history list", ex);
+        }
+    }
+
+    private OrderDto.OrderSummaryResponse toResponse(OrderSummary summary) {
+        OrderDto.OrderSummaryResponse r = new OrderDto.OrderSummaryResponse();
+        r.setId(summary.getOrderId());
+        r.setStatus(summary.getStatus().name());
+        r.setTotalAmount(summary.getTotalAmount());
+        r.setItemCount(summary.getItemCount());
+        r.setThumbnailUrl(summary.getThumbnailUrl());
+        r.setCreatedAt(summary.getCreatedAt());
+        return r;
+    }
+}
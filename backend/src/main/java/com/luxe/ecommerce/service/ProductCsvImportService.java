@@ -2,37 +2,63 @@ package com.luxe.ecommerce.service;
 
 import com.luxe.ecommerce.dto.ProductDto;
 import com.luxe.ecommerce.dto.ProductImportResult;
+import com.luxe.ecommerce.event.ProductChangedEvent;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductApprovalStatus;
+import com.luxe.ecommerce.repository.ProductImportRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Streams a supplier CSV in fixed-size chunks of rows. Each chunk resolves its SKUs with one query and is written
+ * through JDBC batches in its own transaction; if a chunk batch fails, that chunk is replayed row by row
+ * through {@link ProductService#upsertBySku} so the offending rows are reported individually.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ProductCsvImportService {
 
     private final ProductService productService;
+    private final ProductImportRepository productImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductImportResult importProducts(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("CSV file is required");
-        }
-
-        ProductImportResult result = ProductImportResult.builder().build();
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
 
-        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
+    /**
+     * Imports the CSV on {@code input} into {@code result}, skipping rows up to {@code resumeAfterRow}.
+     * {@code listener} is told after every committed chunk and may stop the import before the next one.
+     *
+     * @return false when the listener stopped the import early
+     */
+    public boolean importProducts(InputStream input, int resumeAfterRow, ProductImportResult result, ChunkListener listener) {
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
              CSVParser parser = CSVFormat.DEFAULT.builder()
                      .setHeader()
                      .setSkipHeaderRecord(true)
@@ -41,31 +67,136 @@ public class ProductCsvImportService {
                      .build()
                      .parse(reader)) {
 
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int rowsInChunk = 0;
+            int lastRow = resumeAfterRow;
             for (CSVRecord record : parser) {
+                int row = (int) record.getRecordNumber() + 1;
+                if (row <= resumeAfterRow) {
+                    continue;
+                }
+                lastRow = row;
+                rowsInChunk++;
                 result.setProcessed(result.getProcessed() + 1);
 
                 try {
-                    ProductDto dto = mapRecord(record);
-                    boolean created = productService.upsertBySku(dto);
+                    chunk.add(new ImportRow(row, mapRecord(record)));
+                } catch (Exception ex) {
+                    recordFailure(result, row, getValue(record, "sku"), ex);
+                }
 
-                    if (created) {
-                        result.setCreated(result.getCreated() + 1);
-                    } else {
-                        result.setUpdated(result.getUpdated() + 1);
+                if (rowsInChunk >= chunkSize) {
+                    importChunk(chunk, result);
+                    chunk = new ArrayList<>(chunkSize);
+                    rowsInChunk = 0;
+                    if (!listener.onChunkCompleted(lastRow, result)) {
+                        return false;
                     }
-                } catch (Exception ex) {
-                    result.setFailed(result.getFailed() + 1);
-                    result.getErrors().add(new ProductImportResult.RowError(
-                            (int) record.getRecordNumber() + 1,
-                            getValue(record, "sku"),
-                            ex.getMessage()));
                 }
             }
+            importChunk(chunk, result);
+
+            // Rows rejected while parsing are reported before the chunk they belonged to was written
+            result.getErrors().sort(Comparator.comparingInt(ProductImportResult.RowError::getRow));
+            listener.onChunkCompleted(lastRow, result);
+            return true;
         } catch (IOException ex) {
             throw new IllegalArgumentException("Failed to read CSV file", ex);
         }
+    }
+
+    private void importChunk(List<ImportRow> chunk, ProductImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
 
-        return result;
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> writeChunk(chunk));
+        } catch (RuntimeException ex) {
+            log.warn("Batched import of rows {}-{} failed, retrying row by row: {}",
+                    chunk.get(0).row(), chunk.get(chunk.size() - 1).row(), ex.getMessage());
+            importRowByRow(chunk, result);
+            return;
+        }
+
+        result.setCreated(result.getCreated() + outcome.created());
+        result.setUpdated(result.getUpdated() + outcome.updated());
+    }
+
+    private ChunkOutcome writeChunk(List<ImportRow> chunk) {
+        Set<String> skus = new HashSet<>();
+        chunk.stream()
+                .map(row -> row.dto().getSku())
+                .filter(sku -> sku != null && !sku.isBlank())
+                .forEach(sku -> skus.add(sku.trim()));
+        Map<String, Long> existingIds = productImportRepository.findIdsBySku(skus);
+
+        // A SKU repeated within the chunk is created (or updated) once with its last row's values
+        Map<String, Product> latestBySku = new LinkedHashMap<>();
+        List<Product> inserts = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        int created = 0;
+        int updated = 0;
+
+        for (ImportRow row : chunk) {
+            Product product = productService.applyProductDetails(row.dto(), new Product());
+            product.setApprovalStatus(ProductApprovalStatus.APPROVED);
+
+            String sku = product.getSku();
+            if (sku == null || sku.isBlank()) {
+                inserts.add(product);
+                created++;
+            } else if (existingIds.containsKey(sku) || latestBySku.containsKey(sku)) {
+                latestBySku.put(sku, product);
+                updated++;
+            } else {
+                latestBySku.put(sku, product);
+                created++;
+            }
+        }
+
+        latestBySku.forEach((sku, product) -> {
+            Long id = existingIds.get(sku);
+            if (id == null) {
+                inserts.add(product);
+            } else {
+                product.setId(id);
+                updates.add(product);
+            }
+        });
+
+        productImportRepository.insertAll(inserts);
+        productImportRepository.updateAll(updates);
+
+        List<Product> written = new ArrayList<>(inserts);
+        written.addAll(updates);
+        productImportRepository.replaceImages(updates.stream().map(Product::getId).toList(), written);
+
+        Set<Long> productIds = written.stream().map(Product::getId).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+        return new ChunkOutcome(created, updated);
+    }
+
+    private void importRowByRow(List<ImportRow> chunk, ProductImportResult result) {
+        for (ImportRow row : chunk) {
+            try {
+                boolean created = productService.upsertBySku(row.dto());
+
+                if (created) {
+                    result.setCreated(result.getCreated() + 1);
+                } else {
+                    result.setUpdated(result.getUpdated() + 1);
+                }
+            } catch (Exception ex) {
+                recordFailure(result, row.row(), row.dto().getSku(), ex);
+            }
+        }
+    }
+
+    private void recordFailure(ProductImportResult result, int row, String sku, Exception ex) {
+        result.setFailed(result.getFailed() + 1);
+        result.getErrors().add(new ProductImportResult.RowError(row, sku, ex.getMessage()));
     }
 
     private ProductDto mapRecord(CSVRecord record) {
@@ -176,4 +307,20 @@ public class ProductCsvImportService {
 
         throw new IllegalArgumentException("Invalid active value: " + value);
     }
+
+    @FunctionalInterface
+    public interface ChunkListener {
+
+        /**
+         * @param lastRow the last CSV row covered by the committed chunks
+         * @return false to stop before the next chunk
+         */
+        boolean onChunkCompleted(int lastRow, ProductImportResult result);
+    }
+
+    private record ImportRow(int row, ProductDto dto) {
+    }
+
+    private record ChunkOutcome(int created, int updated) {
+    }
 }
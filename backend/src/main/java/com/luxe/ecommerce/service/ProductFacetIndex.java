@@ -0,0 +1,426 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.event.ProductChangedEvent;
+import com.luxe.ecommerce.event.ProductStockChangedEvent;
+import com.luxe.ecommerce.repository.ProductIndexView;
+import com.luxe.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the public catalog for faceted browsing. Every product owns a slot, and each
+ * brand, category, price range, rating threshold and the in-stock flag keeps a {@link BitSet} of
+ * slots, so filtering and facet counts are bitwise operations and never a {@code GROUP BY}.
+ * Products are re-read by ID after each committed product or stock change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_MIN_RATING = 4;
+
+    // Rupee price bands shown as the price facet
+    private static final List<PriceRange> PRICE_RANGES = List.of(
+            new PriceRange("0-5000", null, new BigDecimal("5000")),
+            new PriceRange("5000-10000", new BigDecimal("5000"), new BigDecimal("10000")),
+            new PriceRange("10000-25000", new BigDecimal("10000"), new BigDecimal("25000")),
+            new PriceRange("25000-50000", new BigDecimal("25000"), new BigDecimal("50000")),
+            new PriceRange("50000-100000", new BigDecimal("50000"), new BigDecimal("100000")),
+            new PriceRange("100000+", new BigDecimal("100000"), null));
+
+    private static final Map<String, Comparator<Entry>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(Entry::id),
+            "createdAt", Comparator.comparing(Entry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "name", Comparator.comparing(Entry::name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)),
+            "price", Comparator.comparing(Entry::price, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "rating", Comparator.comparing(Entry::rating, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private Bitmaps bitmaps = new Bitmaps();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Selected facet values. Values within one facet are OR-ed, facets are AND-ed; an empty set
+     * or a null rating leaves that facet unfiltered.
+     */
+    public record Filter(Set<String> brands, Set<String> categories, Set<String> priceRanges, Integer minRating,
+            boolean inStockOnly) {
+    }
+
+    public record Result(Page<Long> ids, CatalogDto.Facets facets) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+
+        Bitmaps fresh = new Bitmaps();
+        try {
+            long lastId = 0L;
+            List<ProductIndexView> batch;
+            do {
+                batch = productRepository.findPublicIndexViewsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ProductIndexView view : batch) {
+                    fresh.add(toEntry(view));
+                    lastId = view.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.error("Product facet index rebuild failed; filtered browsing is unavailable", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = fresh;
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            refresh(new ArrayList<>(changedDuringRebuild));
+            changedDuringRebuild.clear();
+        }
+        log.info("Product facet index built with {} products", fresh.slotById.size());
+    }
+
+    // Ahead of CatalogCacheInvalidator, so a response tagged with the new catalog version sees the change
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        onChanged(event.productIds());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        onChanged(event.productIds());
+    }
+
+    /**
+     * Returns one page of matching product IDs with the facet counts, or empty while the index is not built.
+     */
+    public Optional<Result> filter(Filter filter, Pageable pageable) {
+        Comparator<Entry> comparator = comparatorFor(pageable.getSort());
+        if (comparator == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort for filtered products");
+        }
+        if (filter.minRating() != null && (filter.minRating() < 1 || filter.minRating() > MAX_MIN_RATING)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minRating must be between 1 and " + MAX_MIN_RATING);
+        }
+        List<Integer> priceRanges = priceRangeIndexes(filter.priceRanges());
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        List<Entry> matches;
+        CatalogDto.Facets facets = new CatalogDto.Facets();
+        lock.readLock().lock();
+        try {
+            BitSet brands = union(bitmaps.brands, filter.brands());
+            BitSet categories = union(bitmaps.categories, filter.categories());
+            BitSet prices = priceRanges.isEmpty() ? null : union(bitmaps.priceRanges, priceRanges);
+            BitSet rating = filter.minRating() == null ? null : bitmaps.ratingAtLeast[filter.minRating()];
+            BitSet stock = filter.inStockOnly() ? bitmaps.inStock : null;
+
+            // Each facet is counted against the other facets' selections only
+            facets.setBrands(counts(bitmaps.brands, and(categories, prices, rating, stock), filter.brands()));
+            facets.setCategories(counts(bitmaps.categories, and(brands, prices, rating, stock), filter.categories()));
+            facets.setPriceRanges(priceRangeCounts(and(brands, categories, rating, stock)));
+            facets.setRatings(ratingCounts(and(brands, categories, prices, stock)));
+            facets.setInStock(intersectionSize(bitmaps.inStock, and(brands, categories, prices, rating)));
+
+            BitSet matching = and(brands, categories, prices, rating, stock);
+            matches = new ArrayList<>(matching.cardinality());
+            for (int slot = matching.nextSetBit(0); slot >= 0; slot = matching.nextSetBit(slot + 1)) {
+                matches.add(bitmaps.entries.get(slot));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> pageIds = matches.subList(from, to).stream().map(Entry::id).toList();
+        return Optional.of(new Result(new PageImpl<>(pageIds, pageable, matches.size()), facets));
+    }
+
+    private void onChanged(Set<Long> productIds) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(productIds);
+        }
+        refresh(productIds);
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ProductIndexView> visible = new HashMap<>();
+        productRepository.findPublicIndexViewsByIdIn(productIds)
+                .forEach(view -> visible.put(view.getId(), view));
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : productIds) {
+                bitmaps.remove(id);
+                ProductIndexView view = visible.get(id);
+                if (view != null) {
+                    bitmaps.add(toEntry(view));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The intersection of the given selections with the whole catalog; null selections are skipped.
+     */
+    private BitSet and(BitSet... selections) {
+        BitSet result = (BitSet) bitmaps.all.clone();
+        for (BitSet selection : selections) {
+            if (selection != null) {
+                result.and(selection);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet union(Map<String, BitSet> bitsByValue, Set<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (String value : values) {
+            BitSet bits = bitsByValue.get(value);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet union(BitSet[] bitsByIndex, List<Integer> indexes) {
+        BitSet result = new BitSet();
+        indexes.forEach(index -> result.or(bitsByIndex[index]));
+        return result;
+    }
+
+    private static List<CatalogDto.FacetCount> counts(Map<String, BitSet> bitsByValue, BitSet base, Set<String> selected) {
+        List<CatalogDto.FacetCount> counts = new ArrayList<>();
+        bitsByValue.forEach((value, bits) -> {
+            long count = intersectionSize(bits, base);
+            if (count > 0 || (selected != null && selected.contains(value))) {
+                counts.add(new CatalogDto.FacetCount(value, count));
+            }
+        });
+        return counts;
+    }
+
+    private List<CatalogDto.FacetCount> priceRangeCounts(BitSet base) {
+        List<CatalogDto.FacetCount> counts = new ArrayList<>(PRICE_RANGES.size());
+        for (int i = 0; i < PRICE_RANGES.size(); i++) {
+            counts.add(new CatalogDto.FacetCount(PRICE_RANGES.get(i).key(), intersectionSize(bitmaps.priceRanges[i], base)));
+        }
+        return counts;
+    }
+
+    private List<CatalogDto.FacetCount> ratingCounts(BitSet base) {
+        List<CatalogDto.FacetCount> counts = new ArrayList<>(MAX_MIN_RATING);
+        for (int rating = MAX_MIN_RATING; rating >= 1; rating--) {
+            counts.add(new CatalogDto.FacetCount(String.valueOf(rating), intersectionSize(bitmaps.ratingAtLeast[rating], base)));
+        }
+        return counts;
+    }
+
+    private static long intersectionSize(BitSet bits, BitSet base) {
+        BitSet intersection = (BitSet) bits.clone();
+        intersection.and(base);
+        return intersection.cardinality();
+    }
+
+    private static List<Integer> priceRangeIndexes(Set<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> indexes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            int index = -1;
+            for (int i = 0; i < PRICE_RANGES.size(); i++) {
+                if (PRICE_RANGES.get(i).key().equals(key)) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown price range: " + key);
+            }
+            indexes.add(index);
+        }
+        return indexes;
+    }
+
+    private static int priceRangeOf(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        for (int i = 0; i < PRICE_RANGES.size(); i++) {
+            if (PRICE_RANGES.get(i).contains(price)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Entry toEntry(ProductIndexView view) {
+        return new Entry(view.getId(), view.getName(), view.getBrand(), view.getCategory(), view.getPrice(),
+                view.getRating(), view.getStock() != null && view.getStock() > 0, view.getCreatedAt());
+    }
+
+    private static Comparator<Entry> comparatorFor(Sort sort) {
+        Comparator<Entry> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> next = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (next == null) {
+                return null;
+            }
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Entry> tieBreaker = Comparator.comparing(Entry::id, Comparator.reverseOrder());
+        return comparator == null ? tieBreaker : comparator.thenComparing(tieBreaker);
+    }
+
+    private record PriceRange(String key, BigDecimal from, BigDecimal to) {
+
+        boolean contains(BigDecimal price) {
+            return (from == null || price.compareTo(from) >= 0) && (to == null || price.compareTo(to) < 0);
+        }
+    }
+
+    private record Entry(Long id, String name, String brand, String category, BigDecimal price, Double rating,
+            boolean inStock, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Slots are reused after removals, so the bitmaps stay as wide as the largest catalog seen.
+     */
+    private static final class Bitmaps {
+
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final BitSet all = new BitSet();
+        private final Map<String, BitSet> brands = new TreeMap<>();
+        private final Map<String, BitSet> categories = new TreeMap<>();
+        private final BitSet[] priceRanges = new BitSet[PRICE_RANGES.size()];
+        private final BitSet[] ratingAtLeast = new BitSet[MAX_MIN_RATING + 1];
+        private final BitSet inStock = new BitSet();
+
+        private Bitmaps() {
+            for (int i = 0; i < priceRanges.length; i++) {
+                priceRanges[i] = new BitSet();
+            }
+            for (int i = 0; i < ratingAtLeast.length; i++) {
+                ratingAtLeast[i] = new BitSet();
+            }
+        }
+
+        void add(Entry entry) {
+            int slot;
+            if (freeSlots.isEmpty()) {
+                slot = entries.size();
+                entries.add(entry);
+            } else {
+                slot = freeSlots.pop();
+                entries.set(slot, entry);
+            }
+            slotById.put(entry.id(), slot);
+            update(entry, slot, true);
+        }
+
+        void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            update(entries.set(slot, null), slot, false);
+            freeSlots.push(slot);
+        }
+
+        private void update(Entry entry, int slot, boolean value) {
+            all.set(slot, value);
+            set(brands, entry.brand(), slot, value);
+            set(categories, entry.category(), slot, value);
+            int priceRange = priceRangeOf(entry.price());
+            if (priceRange >= 0) {
+                priceRanges[priceRange].set(slot, value);
+            }
+            double rating = entry.rating() == null ? 0 : entry.rating();
+            for (int threshold = 1; threshold <= MAX_MIN_RATING && rating >= threshold; threshold++) {
+                ratingAtLeast[threshold].set(slot, value);
+            }
+            inStock.set(slot, value && entry.inStock());
+        }
+
+        private static void set(Map<String, BitSet> bitsByValue, String key, int slot, boolean value) {
+            if (key == null || key.isBlank()) {
+                return;
+            }
+            if (value) {
+                bitsByValue.computeIfAbsent(key, k -> new BitSet()).set(slot);
+                return;
+            }
+            BitSet bits = bitsByValue.get(key);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    bitsByValue.remove(key);
+                }
+            }
+        }
+    }
+}
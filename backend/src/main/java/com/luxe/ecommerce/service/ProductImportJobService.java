@@ -0,0 +1,342 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.dto.ProductImportJobResponse;
+import com.luxe.ecommerce.dto.ProductImportResult;
+import com.luxe.ecommerce.model.ImportJob;
+import com.luxe.ecommerce.model.ImportJob.ImportJobStatus;
+import com.luxe.ecommerce.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CSV imports in the background. The upload is spooled to disk, the job is recorded in
+ * {@code import_jobs} and queued on a small bounded pool; progress is checkpointed after every chunk
+ * so a job interrupted by a restart resumes after its last committed row.
+ * <p>
+ * A job belongs to the instance that spooled it, which keeps renewing the job's lease. On restart an
+ * instance resumes only its own jobs; another instance's job is taken over once its lease has expired.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportJobService {
+
+    private static final int MAX_STORED_ERRORS = 100;
+    private static final List<ImportJobStatus> ACTIVE = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final ProductCsvImportService productCsvImportService;
+    private final DashboardCounterService dashboardCounterService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.spool-dir:${java.io.tmpdir}/luxe-imports}")
+    private Path spoolDir;
+
+    // Must stay the same across restarts of an instance, so it finds its spooled uploads again
+    @Value("${app.instance-id:${HOSTNAME:local}}")
+    private String instanceId;
+
+    @Value("${app.jobs.lease:2m}")
+    private Duration lease;
+
+    @Value("${app.import.workers:2}")
+    private int workers;
+
+    // Jobs beyond the running ones and this queue are rejected instead of piling up
+    @Value("${app.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    // Jobs queued or running on this instance
+    private final Set<Long> localJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "csv-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        // Running jobs are not awaited; they resume from their checkpoint on the next start
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        resumeJobs(true);
+    }
+
+    /**
+     * Renews the leases of this instance's jobs and takes over jobs whose owner has stopped renewing them.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        try {
+            importJobRepository.renewLeases(instanceId, ACTIVE, LocalDateTime.now().plus(lease));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew product import job leases: {}", ex.getMessage());
+            return;
+        }
+        resumeJobs(false);
+    }
+
+    private void resumeJobs(boolean includeOwned) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            importJobRepository.claimInterrupted(instanceId, includeOwned, ACTIVE, ImportJobStatus.QUEUED, now.plus(lease), now);
+            for (ImportJob job : importJobRepository.findByOwnerIdAndStatus(instanceId, ImportJobStatus.QUEUED)) {
+                if (localJobs.contains(job.getId())) {
+                    continue;
+                }
+                if (Files.exists(Path.of(job.getSpoolPath()))) {
+                    log.info("Resuming product import job {} after row {}", job.getId(), job.getLastRow());
+                    submit(job.getId());
+                } else {
+                    importJobRepository.finish(job.getId(), instanceId, ImportJobStatus.FAILED,
+                            "Uploaded file is no longer available", LocalDateTime.now());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to resume product import jobs", ex);
+        }
+    }
+
+    public ProductImportJobResponse startImport(MultipartFile file, String requestedBy) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file is required");
+        }
+
+        Path spoolPath;
+        try {
+            Files.createDirectories(spoolDir);
+            spoolPath = spoolDir.resolve(UUID.randomUUID() + ".csv");
+            file.transferTo(spoolPath);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store uploaded CSV", ex);
+        }
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .fileName(file.getOriginalFilename())
+                .spoolPath(spoolPath.toString())
+                .requestedBy(requestedBy)
+                .ownerId(instanceId)
+                .leaseExpiresAt(LocalDateTime.now().plus(lease))
+                .build());
+
+        try {
+            submit(job.getId());
+        } catch (RejectedExecutionException ex) {
+            importJobRepository.delete(job);
+            deleteSpool(spoolPath);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, try again later");
+        }
+        return toResponse(job);
+    }
+
+    public ProductImportJobResponse getJob(Long id) {
+        return toResponse(findJob(id));
+    }
+
+    /**
+     * Queued jobs never start; running jobs stop after the chunk in progress, keeping what has been committed.
+     */
+    public ProductImportJobResponse cancelJob(Long id) {
+        ImportJob job = findJob(id);
+        if (importJobRepository.requestCancel(id, ACTIVE, LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Import job is already " + job.getStatus());
+        }
+        if (job.getStatus() == ImportJobStatus.QUEUED && executor.getQueue().removeIf(task -> task instanceof JobTask jobTask && jobTask.jobId().equals(id))) {
+            localJobs.remove(id);
+            finishCancelled(job);
+        }
+        return toResponse(findJob(id));
+    }
+
+    private void submit(Long jobId) {
+        localJobs.add(jobId);
+        try {
+            executor.execute(new JobTask(jobId, () -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    localJobs.remove(jobId);
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            localJobs.remove(jobId);
+            throw ex;
+        }
+    }
+
+    private void runJob(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (importJobRepository.markRunning(jobId, instanceId, ImportJobStatus.QUEUED, ImportJobStatus.RUNNING, LocalDateTime.now()) == 0) {
+            if (isCancelRequested(jobId)) {
+                finishCancelled(job);
+            }
+            return;
+        }
+
+        ProductImportResult result = ProductImportResult.builder()
+                .processed(job.getProcessedRows())
+                .created(job.getCreatedRows())
+                .updated(job.getUpdatedRows())
+                .failed(job.getFailedRows())
+                .errors(readErrors(job.getRowErrors()))
+                .build();
+
+        Path spoolPath = Path.of(job.getSpoolPath());
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        try (InputStream input = Files.newInputStream(spoolPath)) {
+            boolean completed = productCsvImportService.importProducts(input, job.getLastRow(), result, (lastRow, progress) -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (importJobRepository.saveProgress(jobId, instanceId, lastRow, progress.getProcessed(), progress.getCreated(),
+                        progress.getUpdated(), progress.getFailed(), writeErrors(progress.getErrors()), now.plus(lease), now) == 0) {
+                    leaseLost.set(true);
+                    return false;
+                }
+                return !Thread.currentThread().isInterrupted() && !isCancelRequested(jobId);
+            });
+
+            if (completed) {
+                importJobRepository.finish(jobId, instanceId, ImportJobStatus.COMPLETED, null, LocalDateTime.now());
+            } else if (leaseLost.get()) {
+                log.warn("Product import job {} was taken over by another instance; stopping after row {}", jobId, job.getLastRow());
+                return;
+            } else if (isCancelRequested(jobId)) {
+                importJobRepository.finish(jobId, instanceId, ImportJobStatus.CANCELLED, null, LocalDateTime.now());
+            } else {
+                // Interrupted by shutdown: leave it RUNNING so the next start picks it up again
+                return;
+            }
+            deleteSpool(spoolPath);
+            // Bulk JDBC writes bypass the counter deltas
+            dashboardCounterService.reconcile();
+        } catch (IOException | RuntimeException ex) {
+            if (executor.isShutdown()) {
+                log.info("Product import job {} interrupted by shutdown; it resumes after row {} on the next start", jobId, job.getLastRow());
+                return;
+            }
+            log.error("Product import job {} failed", jobId, ex);
+            importJobRepository.finish(jobId, instanceId, ImportJobStatus.FAILED, ex.getMessage(), LocalDateTime.now());
+            deleteSpool(spoolPath);
+        }
+    }
+
+    private void finishCancelled(ImportJob job) {
+        importJobRepository.finish(job.getId(), instanceId, ImportJobStatus.CANCELLED, null, LocalDateTime.now());
+        deleteSpool(Path.of(job.getSpoolPath()));
+    }
+
+    // A job that no longer exists is treated as cancelled
+    private boolean isCancelRequested(Long jobId) {
+        return !Boolean.FALSE.equals(importJobRepository.isCancelRequested(jobId));
+    }
+
+    private ImportJob findJob(Long id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found"));
+    }
+
+    private ProductImportJobResponse toResponse(ImportJob job) {
+        ProductImportJobResponse response = new ProductImportJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setFileName(job.getFileName());
+        response.setCancelRequested(job.isCancelRequested());
+        response.setProcessed(job.getProcessedRows());
+        response.setCreated(job.getCreatedRows());
+        response.setUpdated(job.getUpdatedRows());
+        response.setFailed(job.getFailedRows());
+        response.setErrors(readErrors(job.getRowErrors()));
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            response.setRowsPerSecond(Math.round(job.getProcessedRows() * 10_000.0 / millis) / 10.0);
+        }
+        return response;
+    }
+
+    private List<ProductImportResult.RowError> readErrors(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<ProductImportResult.RowError>>() { });
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable import job errors: {}", ex.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Only the first errors are kept on the job; the failed count still covers every row
+    private String writeErrors(List<ProductImportResult.RowError> errors) {
+        try {
+            return objectMapper.writeValueAsString(errors.subList(0, Math.min(errors.size(), MAX_STORED_ERRORS)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize import errors", ex);
+        }
+    }
+
+    private void deleteSpool(Path spoolPath) {
+        try {
+            Files.deleteIfExists(spoolPath);
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled import {}: {}", spoolPath, ex.getMessage());
+        }
+    }
+
+    private record JobTask(Long jobId, Runnable work) implements Runnable {
+
+        @Override
+        public void run() {
+            work.run();
+        }
+    }
+}
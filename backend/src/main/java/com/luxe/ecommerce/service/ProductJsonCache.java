@@ -0,0 +1,121 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.repository.ProductCatalogRow;
+import com.luxe.ecommerce.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Storefront JSON of public products, serialized once and shared by every listing and detail
+ * response. Misses for a whole page are loaded with one projection query. Entries are evicted by
+ * {@link CatalogCacheInvalidator} when a product or its stock changes; the cache is bounded by
+ * the total size of the cached JSON.
+ */
+@Component
+public class ProductJsonCache {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, ProductJson> jsonById;
+
+    public ProductJsonCache(ProductRepository productRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${app.cache.catalog.detail-ttl:5m}") Duration ttl,
+                            @Value("${app.cache.catalog.max-cached-json:16MB}") DataSize maxCachedJson) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.jsonById = Caffeine.newBuilder()
+                .maximumWeight(maxCachedJson.toBytes())
+                .weigher((Long id, ProductJson json) -> json.size())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<ProductJson> get(Long id) {
+        return getAll(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * @return the public products among {@code ids}, in the same order
+     */
+    public List<ProductJson> getAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductJson> jsonByProductId = jsonById.getAll(ids, this::load);
+        return ids.stream()
+                .map(jsonByProductId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        jsonById.invalidateAll(ids);
+    }
+
+    private Map<Long, ProductJson> load(Set<? extends Long> ids) {
+        Map<Long, CatalogDto.ProductResponse> productsById = new HashMap<>();
+        Map<Long, ProductCatalogRow> rowsById = new HashMap<>();
+        for (ProductCatalogRow row : productRepository.findPublicCatalogRowsByIdIn(List.copyOf(ids))) {
+            CatalogDto.ProductResponse product = productsById.computeIfAbsent(row.getId(), id -> toResponse(row));
+            rowsById.putIfAbsent(row.getId(), row);
+            if (row.getImageUrl() != null) {
+                product.getImages().add(row.getImageUrl());
+            }
+        }
+
+        Map<Long, ProductJson> loaded = new HashMap<>();
+        productsById.forEach((id, product) -> {
+            if ((product.getMainImageUrl() == null || product.getMainImageUrl().isBlank()) && !product.getImages().isEmpty()) {
+                product.setMainImageUrl(product.getImages().get(0));
+            }
+            ProductCatalogRow row = rowsById.get(id);
+            loaded.put(id, new ProductJson(id, row.getCreatedAt(), row.getUpdatedAt(), serialize(product)));
+        });
+        return loaded;
+    }
+
+    private CatalogDto.ProductResponse toResponse(ProductCatalogRow row) {
+        CatalogDto.ProductResponse product = new CatalogDto.ProductResponse();
+        product.setId(row.getId());
+        product.setName(row.getName());
+        product.setDescription(row.getDescription());
+        product.setPrice(row.getPrice());
+        product.setOriginalPrice(row.getOriginalPrice());
+        product.setStock(row.getStock());
+        product.setCategory(row.getCategory());
+        product.setBrand(row.getBrand());
+        product.setSku(row.getSku());
+        product.setMainImageUrl(row.getMainImageUrl());
+        product.setImages(new ArrayList<>());
+        product.setRating(row.getRating());
+        product.setReviewCount(row.getReviewCount());
+        return product;
+    }
+
+    private byte[] serialize(CatalogDto.ProductResponse product) {
+        try {
+            return objectMapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize product " + product.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.event.ProductChangedEvent;
+import com.luxe.ecommerce.repository.ProductIndexView;
+import com.luxe.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenized inverted index over the public catalog (active and approved products).
+ * Every indexed token maps to the IDs of the products containing it; query terms are
+ * matched as prefixes and intersected, so storefront search never scans the products table.
+ * Local writes are applied after commit; a periodic rebuild picks up writes committed by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Map<String, Comparator<Entry>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(Entry::id),
+            "createdAt", Comparator.comparing(Entry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "name", Comparator.comparing(Entry::name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)),
+            "price", Comparator.comparing(Entry::price, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "rating", Comparator.comparing(Entry::rating, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private Map<Long, Entry> entries = new HashMap<>();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog.index-rebuild-interval-ms:60000}",
+            fixedDelayString = "${app.catalog.index-rebuild-interval-ms:60000}")
+    public void rebuild() {
+        boolean initial = !ready;
+        rebuilding = true;
+        changedDuringRebuild.clear();
+
+        NavigableMap<String, Set<Long>> freshPostings = new TreeMap<>();
+        Map<Long, Entry> freshEntries = new HashMap<>();
+        try {
+            long lastId = 0L;
+            List<ProductIndexView> batch;
+            do {
+                batch = productRepository.findPublicIndexViewsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ProductIndexView view : batch) {
+                    add(freshPostings, freshEntries, toEntry(view));
+                    lastId = view.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.error("Product search index rebuild failed; search falls back to the database", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = freshPostings;
+            entries = freshEntries;
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            refresh(changed);
+        }
+        if (initial) {
+            log.info("Product search index built with {} products and {} terms", freshEntries.size(), freshPostings.size());
+        } else {
+            log.debug("Product search index rebuilt with {} products and {} terms", freshEntries.size(), freshPostings.size());
+        }
+    }
+
+    // Ahead of CatalogCacheInvalidator, so a response tagged with the new catalog version sees the change
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.productIds());
+        }
+        refresh(event.productIds());
+    }
+
+    /**
+     * Returns one page of matching product IDs, or empty when the index cannot answer the query
+     * (not built yet, or sorted by a property the index does not keep) and the caller should fall back.
+     */
+    public Optional<Page<Long>> search(String query, Pageable pageable) {
+        Comparator<Entry> comparator = comparatorFor(pageable.getSort());
+        if (!ready || comparator == null) {
+            return Optional.empty();
+        }
+
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Optional.of(Page.empty(pageable));
+        }
+
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = null;
+            for (String term : terms) {
+                Set<Long> termIds = matchPrefix(term);
+                if (ids == null) {
+                    ids = termIds;
+                } else {
+                    ids.retainAll(termIds);
+                }
+                if (ids.isEmpty()) {
+                    break;
+                }
+            }
+            matches = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                matches.add(entries.get(id));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> pageIds = matches.subList(from, to).stream().map(Entry::id).toList();
+        return Optional.of(new PageImpl<>(pageIds, pageable, matches.size()));
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ProductIndexView> visible = new HashMap<>();
+        productRepository.findPublicIndexViewsByIdIn(productIds)
+                .forEach(view -> visible.put(view.getId(), view));
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : productIds) {
+                remove(postings, entries, id);
+                ProductIndexView view = visible.get(id);
+                if (view != null) {
+                    add(postings, entries, toEntry(view));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<Long> matchPrefix(String term) {
+        Set<Long> ids = new HashSet<>();
+        postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private static void add(NavigableMap<String, Set<Long>> postings, Map<Long, Entry> entries, Entry entry) {
+        entries.put(entry.id(), entry);
+        for (String token : entry.tokens()) {
+            postings.computeIfAbsent(token, key -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private static void remove(NavigableMap<String, Set<Long>> postings, Map<Long, Entry> entries, Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Entry toEntry(ProductIndexView view) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(view.getName()));
+        tokens.addAll(tokenize(view.getDescription()));
+        tokens.addAll(tokenize(view.getBrand()));
+        tokens.addAll(tokenize(view.getCategory()));
+        return new Entry(view.getId(), view.getName(), view.getPrice(), view.getRating(), view.getCreatedAt(),
+                List.copyOf(tokens));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static Comparator<Entry> comparatorFor(Sort sort) {
+        Comparator<Entry> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> next = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (next == null) {
+                return null;
+            }
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Entry> tieBreaker = Comparator.comparing(Entry::id, Comparator.reverseOrder());
+        return comparator == null ? tieBreaker : comparator.thenComparing(tieBreaker);
+    }
+
+    private record Entry(Long id, String name, BigDecimal price, Double rating, LocalDateTime createdAt,
+            List<String> tokens) {
+    }
+}
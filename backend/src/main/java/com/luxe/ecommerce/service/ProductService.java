@@ -1,21 +1,33 @@
 package com.luxe.ecommerce.service;
 
+import com.luxe.ecommerce.config.CacheConfig;
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.dto.CursorPage;
+import com.luxe.ecommerce.dto.KeysetCursor;
 import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.event.ProductChangedEvent;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.ProductApprovalStatus;
 import com.luxe.ecommerce.model.ProductImage;
 import com.luxe.ecommerce.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,49 +35,95 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductJsonCache productJsonCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Cacheable(CacheConfig.PRODUCT_PAGES)
     @Transactional(readOnly = true)
-    public Page<Product> getAllProducts(Pageable pageable) {
-        return productRepository.findPublicProducts(pageable)
-                .map(this::prepareProductForResponse);
+    public Page<ProductJson> getAllProducts(Pageable pageable) {
+        return toJsonPage(productRepository.findPublicProductIds(pageable));
     }
 
+    @Cacheable(CacheConfig.CATEGORY_PAGES)
     @Transactional(readOnly = true)
-    public Page<Product> getByCategory(String category, Pageable pageable) {
-        return productRepository.findPublicProductsByCategory(category, pageable)
-                .map(this::prepareProductForResponse);
+    public Page<ProductJson> getByCategory(String category, Pageable pageable) {
+        return toJsonPage(productRepository.findPublicProductIdsByCategory(category, pageable));
     }
 
     @Transactional(readOnly = true)
-    public Page<Product> searchProducts(String query, Pageable pageable) {
-        return productRepository.searchProducts(query, pageable)
-                .map(this::prepareProductForResponse);
+    public Page<ProductJson> searchProducts(String query, Pageable pageable) {
+        return productSearchIndex.search(query, pageable)
+                .map(this::toJsonPage)
+                .orElseGet(() -> toJsonPage(productRepository.searchPublicProductIds(query, pageable)));
+    }
+
+    public CatalogDto.FilteredProductsResponse filterProducts(ProductFacetIndex.Filter filter, Pageable pageable) {
+        ProductFacetIndex.Result result = productFacetIndex.filter(filter, pageable)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Product filters are not available yet"));
+
+        CatalogDto.FilteredProductsResponse response = new CatalogDto.FilteredProductsResponse();
+        response.setProducts(toJsonPage(result.ids()));
+        response.setFacets(result.facets());
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public Product getById(Long id) {
-        return prepareProductForResponse(findPublicProductEntity(id));
+    public CursorPage<ProductJson> getProductsAfter(String category, String after, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        boolean byCategory = category != null && !category.isBlank();
+        List<KeysetCursor> keys;
+
+        if (after == null || after.isBlank()) {
+            keys = byCategory
+                    ? productRepository.findPublicProductKeysByCategoryNewestFirst(category, limit)
+                    : productRepository.findPublicProductKeysNewestFirst(limit);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            keys = byCategory
+                    ? productRepository.findPublicProductKeysByCategoryBefore(category, cursor.createdAt(), cursor.id(), limit)
+                    : productRepository.findPublicProductKeysBefore(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        // Paged on the keys, so a product that stops being public before it is loaded shortens
+        // this page instead of ending the listing
+        CursorPage<KeysetCursor> page = CursorPage.of(keys, size, Function.identity());
+        List<ProductJson> products = productJsonCache.getAll(page.getContent().stream().map(KeysetCursor::id).toList());
+        return new CursorPage<>(products, page.getNextCursor(), page.isHasNext());
+    }
+
+    public ProductJson getById(Long id) {
+        return productJsonCache.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
     }
 
+    @Cacheable(CacheConfig.PRODUCT_CATEGORIES)
     public List<String> getAllCategories() {
         return productRepository.findAllCategories();
     }
 
     @Transactional
     public Product createProduct(ProductDto dto) {
+        ensureSkuAvailable(dto.getSku(), null);
         Product product = applyProductDetails(dto, new Product());
         product.setApprovalStatus(ProductApprovalStatus.APPROVED);
         product.setSubmittedAt(null);
         product.setReviewedAt(null);
-        return prepareProductForResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
+        return prepareProductForResponse(saved);
     }
 
     @Transactional
     public Product updateProduct(Long id, ProductDto dto) {
         Product product = findProductEntity(id);
+        ensureSkuAvailable(dto.getSku(), id);
         applyProductDetails(dto, product);
         product.setApprovalStatus(ProductApprovalStatus.APPROVED);
-        return prepareProductForResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
+        return prepareProductForResponse(saved);
     }
 
     @Transactional
@@ -84,7 +142,8 @@ public class ProductService {
 
         applyProductDetails(dto, product);
         product.setApprovalStatus(ProductApprovalStatus.APPROVED);
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
         return created;
     }
 
@@ -92,6 +151,21 @@ public class ProductService {
     public void deleteProduct(Long id) {
         Product product = findProductEntity(id);
         product.setActive(false);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+    }
+
+    /**
+     * Rejects a SKU that another product already uses, before the unique index would.
+     */
+    void ensureSkuAvailable(String sku, Long productId) {
+        if (sku == null || sku.isBlank()) {
+            return;
+        }
+        productRepository.findBySku(sku.trim())
+                .filter(existing -> !existing.getId().equals(productId))
+                .ifPresent(existing -> {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "SKU " + sku.trim() + " is already in use");
+                });
     }
 
     Product findProductEntity(Long id) {
@@ -99,9 +173,8 @@ public class ProductService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
     }
 
-    Product findPublicProductEntity(Long id) {
-        return productRepository.findPublicById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+    private Page<ProductJson> toJsonPage(Page<Long> ids) {
+        return new PageImpl<>(productJsonCache.getAll(ids.getContent()), ids.getPageable(), ids.getTotalElements());
     }
 
     public Product applyProductDetails(ProductDto dto, Product product) {
@@ -112,7 +185,8 @@ public class ProductService {
         product.setStock(dto.getStock());
         product.setCategory(dto.getCategory());
         product.setBrand(dto.getBrand());
-        product.setSku(dto.getSku() == null ? null : dto.getSku().trim());
+        // Blank means no SKU; products.sku is unique apart from NULLs
+        product.setSku(dto.getSku() == null || dto.getSku().isBlank() ? null : dto.getSku().trim());
         product.setMainImageUrl(dto.getMainImageUrl() == null ? null : dto.getMainImageUrl().trim());
         product.setActive(dto.isActive());
         if (dto.getRating() != null) {
@@ -133,7 +207,15 @@ public class ProductService {
                             .build())
                     .collect(Collectors.toList());
 
-            product.setImages(images);
+            // Mutate the managed collection in place; replacing it breaks orphan removal on updates
+            if (product.getImages() == null) {
+                product.setImages(new ArrayList<>(images));
+            } else {
+                product.getImages().clear();
+                product.getImages().addAll(images);
+            }
+            // Gallery-only edits do not dirty the product row, and the product ETag is built from updatedAt
+            product.setUpdatedAt(LocalDateTime.now());
 
             if ((product.getMainImageUrl() == null || product.getMainImageUrl().isBlank()) && !images.isEmpty()) {
                 product.setMainImageUrl(images.get(0).getImageUrl());
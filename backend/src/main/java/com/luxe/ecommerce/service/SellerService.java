@@ -2,6 +2,7 @@ package com.luxe.ecommerce.service;
 
 import com.luxe.ecommerce.dto.ProductDto;
 import com.luxe.ecommerce.dto.SellerDto;
+import com.luxe.ecommerce.event.ProductChangedEvent;
 import com.luxe.ecommerce.model.Product;
 import com.luxe.ecommerce.model.ProductApprovalStatus;
 import com.luxe.ecommerce.model.Role;
@@ -12,6 +13,7 @@ import com.luxe.ecommerce.repository.ProductRepository;
 import com.luxe.ecommerce.repository.SellerProfileRepository;
 import com.luxe.ecommerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -33,6 +35,7 @@ public class SellerService {
     private final ProductRepository productRepository;
     private final ProductService productService;
     private final AiVerificationService aiVerificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public SellerDto.SellerProfileResponse getMyProfile(String email) {
@@ -76,6 +79,7 @@ public class SellerService {
     @Transactional
     public SellerDto.SellerProductResponse createProduct(String email, ProductDto dto) {
         User seller = getSeller(email);
+        productService.ensureSkuAvailable(dto.getSku(), null);
         Product product = productService.applyProductDetails(dto, new Product());
         product.setSeller(seller);
         product.setActive(dto.isActive());
@@ -93,6 +97,7 @@ public class SellerService {
     @Transactional
     public SellerDto.SellerProductResponse updateProduct(String email, Long id, ProductDto dto) {
         Product product = getOwnedProduct(email, id);
+        productService.ensureSkuAvailable(dto.getSku(), id);
         productService.applyProductDetails(dto, product);
         product.setActive(dto.isActive());
         product.setApprovalStatus(ProductApprovalStatus.DRAFT);
@@ -102,7 +107,9 @@ public class SellerService {
         product.setAiRecommendation(null);
         product.setSubmittedAt(null);
         product.setReviewedAt(null);
-        return mapProduct(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getId()));
+        return mapProduct(saved);
     }
 
     @Transactional
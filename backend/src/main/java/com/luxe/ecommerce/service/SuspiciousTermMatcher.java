@@ -0,0 +1,152 @@
+package com.luxe.ecommerce.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Case-insensitive multi-term matcher: an Aho–Corasick automaton compiled into a dense transition
+ * table, so a field is checked against every term in a single left-to-right pass.
+ * Immutable once built and safe to share between threads.
+ */
+public final class SuspiciousTermMatcher {
+
+    private static final int ROOT = 0;
+    private static final int OTHER = 0;
+
+    // Column in the transition table for each character that occurs in a term; column 0 is "any other".
+    // ASCII upper case shares the lower-case column, so the hot loop never calls toLowerCase for ASCII.
+    private final int[] asciiColumns = new int[128];
+    private final Map<Character, Integer> otherColumns = new HashMap<>();
+    private final int columnCount;
+
+    // Row-major DFA: next state = table[state * columnCount + column]; any edge into an accepting state is -1
+    private final int[] table;
+
+    private SuspiciousTermMatcher(List<String> terms) {
+        int columnCount = 1;
+        for (String term : terms) {
+            for (char c : term.toCharArray()) {
+                if (column(c) == OTHER) {
+                    if (c < 128) {
+                        asciiColumns[c] = columnCount;
+                        asciiColumns[Character.toUpperCase(c)] = columnCount++;
+                    } else {
+                        otherColumns.put(c, columnCount++);
+                    }
+                }
+            }
+        }
+
+        // Trie first, with -1 marking a missing edge
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newRow(columnCount));
+        terminal.add(false);
+        for (String term : terms) {
+            int state = ROOT;
+            for (char c : term.toCharArray()) {
+                int col = column(c);
+                if (trie.get(state)[col] < 0) {
+                    trie.get(state)[col] = trie.size();
+                    trie.add(newRow(columnCount));
+                    terminal.add(false);
+                }
+                state = trie.get(state)[col];
+            }
+            terminal.set(state, true);
+        }
+
+        // Breadth-first pass fills missing edges from failure links, turning the trie into a DFA
+        int[][] transitions = trie.toArray(new int[0][]);
+        boolean[] accepting = new boolean[transitions.length];
+        int[] failure = new int[transitions.length];
+        for (int s = 0; s < accepting.length; s++) {
+            accepting[s] = terminal.get(s);
+        }
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int col = 0; col < columnCount; col++) {
+            int next = transitions[ROOT][col];
+            if (next < 0) {
+                transitions[ROOT][col] = ROOT;
+            } else {
+                failure[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] |= accepting[failure[state]];
+            for (int col = 0; col < columnCount; col++) {
+                int next = transitions[state][col];
+                if (next < 0) {
+                    transitions[state][col] = transitions[failure[state]][col];
+                } else {
+                    failure[next] = transitions[failure[state]][col];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.columnCount = columnCount;
+        table = new int[transitions.length * columnCount];
+        for (int state = 0; state < transitions.length; state++) {
+            for (int col = 0; col < columnCount; col++) {
+                int next = transitions[state][col];
+                table[state * columnCount + col] = accepting[next] ? -1 : next;
+            }
+        }
+    }
+
+    /**
+     * Compiles the terms, ignoring blanks and duplicates; matching is case-insensitive.
+     */
+    public static SuspiciousTermMatcher compile(Collection<String> terms) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (term != null && !term.isBlank()) {
+                normalized.add(term.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new SuspiciousTermMatcher(new ArrayList<>(normalized));
+    }
+
+    public boolean matchesAny(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int col = c < 128 ? asciiColumns[c] : otherColumns.getOrDefault(Character.toLowerCase(c), OTHER);
+            state = table[state * columnCount + col];
+            if (state < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumns[c];
+        }
+        return otherColumns.getOrDefault(c, OTHER);
+    }
+
+    private static int[] newRow(int columnCount) {
+        int[] row = new int[columnCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,467 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.repository.CartItemBatchRepository;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.ProductRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps carts in memory and writes them back to {@code cart_items} in the background, so a burst of
+ * clicks on one cart becomes a single write of its final state.
+ * <p>
+ * A cart is loaded from the table on first use and guarded by a lock stripe keyed on the user's e-mail.
+ * Changed carts are collected and written every flush interval, many users per transaction, as one
+ * delete, one update batch and one insert batch. Lines created since the last write-back carry negative
+ * IDs until the cart is next loaded from the table. Changes not yet written are lost if the process dies,
+ * and carts are only coherent while each user is served by one instance.
+ */
+@Component
+@ConditionalOnProperty(value = "app.cart.store", havingValue = "write-behind")
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindCartStore implements CartStore {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final CartItemRepository cartItemRepository;
+    private final CartItemBatchRepository cartItemBatchRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Users whose carts are written together in one transaction
+    @Value("${app.cart.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.cart.write-behind.idle-eviction:30m}")
+    private Duration idleEviction;
+
+    private final ReentrantLock[] stripes = createStripes();
+    private final Map<String, Cart> carts = new ConcurrentHashMap<>();
+    private final Set<String> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong pendingLineIds = new AtomicLong();
+
+    // Serializes write-backs, so the IDs generated by one are applied before the next takes its snapshot
+    private final ReentrantLock writeBackLock = new ReentrantLock();
+
+    private TransactionTemplate writeBackTransaction;
+
+    @PostConstruct
+    void init() {
+        // Written in a transaction of its own even when a checkout flushes from inside its transaction
+        writeBackTransaction = new TransactionTemplate(transactionManager);
+        writeBackTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public List<CartLine> getLines(String email) {
+        return toLines(withCart(email, this::snapshotLines));
+    }
+
+    @Override
+    public List<CartLine> addQuantity(String email, Long productId, int quantity, Function<Long, Product> productLoader) {
+        return toLines(withCart(email, cart -> {
+            Line line = cart.linesByProduct.get(productId);
+            if (line == null) {
+                productLoader.apply(productId);
+                line = newLine(cart, productId);
+            }
+            line.quantity += quantity;
+            markChanged(email, line);
+            return snapshotLines(cart);
+        }));
+    }
+
+    @Override
+    public Optional<List<CartLine>> setQuantity(String email, Long lineId, int quantity) {
+        Optional<List<LineSnapshot>> lines = withCart(email, cart -> {
+            Optional<Line> match = cart.linesByProduct.values().stream()
+                    .filter(line -> line.id == lineId)
+                    .findFirst();
+            if (match.isEmpty()) {
+                return Optional.empty();
+            }
+
+            Line line = match.get();
+            if (quantity <= 0) {
+                remove(email, cart, line);
+            } else {
+                line.quantity = quantity;
+                markChanged(email, line);
+            }
+            return Optional.of(snapshotLines(cart));
+        });
+        return lines.map(this::toLines);
+    }
+
+    @Override
+    public Optional<List<CartLine>> applyOperations(String email, List<CartDto.CartOperation> operations, Map<Long, Product> products) {
+        Optional<List<LineSnapshot>> lines = withCart(email, cart -> {
+            Set<Long> lineIds = cart.linesByProduct.values().stream().map(line -> line.id).collect(Collectors.toSet());
+            if (operations.stream().anyMatch(op -> op.getItemId() != null && !lineIds.contains(op.getItemId()))) {
+                return Optional.empty();
+            }
+
+            for (CartDto.CartOperation op : operations) {
+                // A line removed by an earlier operation is simply gone for the later ones
+                Line line = op.getItemId() == null
+                        ? cart.linesByProduct.get(op.getProductId())
+                        : cart.linesByProduct.values().stream().filter(candidate -> candidate.id == op.getItemId()).findFirst().orElse(null);
+                int quantity = op.getQuantity() == null ? 0 : op.getQuantity();
+
+                switch (op.getOp()) {
+                    case ADD -> {
+                        if (line == null) {
+                            line = newLine(cart, op.getProductId());
+                        }
+                        line.quantity += quantity;
+                        markChanged(email, line);
+                    }
+                    case SET -> {
+                        if (line != null && quantity <= 0) {
+                            remove(email, cart, line);
+                        } else if (line != null || op.getItemId() == null && quantity > 0) {
+                            line = line == null ? newLine(cart, op.getProductId()) : line;
+                            line.quantity = quantity;
+                            markChanged(email, line);
+                        }
+                    }
+                    case REMOVE -> {
+                        if (line != null) {
+                            remove(email, cart, line);
+                        }
+                    }
+                }
+            }
+            return Optional.of(snapshotLines(cart));
+        });
+        return lines.map(this::toLines);
+    }
+
+    @Override
+    public void removeLines(String email, Collection<Long> lineIds) {
+        Set<Long> ids = new HashSet<>(lineIds);
+        withCart(email, cart -> {
+            new ArrayList<>(cart.linesByProduct.values()).stream()
+                    .filter(line -> ids.contains(line.id))
+                    .forEach(line -> remove(email, cart, line));
+            return null;
+        });
+    }
+
+    @Override
+    public void clear(String email) {
+        withCart(email, cart -> {
+            new ArrayList<>(cart.linesByProduct.values()).forEach(line -> remove(email, cart, line));
+            return null;
+        });
+    }
+
+    /**
+     * Writes the user's pending changes immediately. Inside a transaction the cart is also dropped from
+     * memory once it commits, so a checkout that empties {@code cart_items} is not undone by stale lines.
+     */
+    @Override
+    public void flush(String email) {
+        writeBackLock.lock();
+        try {
+            writeBack(List.of(email));
+        } finally {
+            writeBackLock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictIfClean(email, Duration.ZERO);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.write-behind.flush-interval-ms:1000}")
+    public void flushPending() {
+        writeBackLock.lock();
+        try {
+            List<String> pending = new ArrayList<>(dirtyCarts);
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                writeBack(pending.subList(from, Math.min(from + batchSize, pending.size())));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Cart write-back failed; changes stay pending until the next attempt: {}", ex.getMessage());
+        } finally {
+            writeBackLock.unlock();
+        }
+
+        carts.keySet().forEach(email -> evictIfClean(email, idleEviction));
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushPending();
+    }
+
+    /**
+     * Takes each cart's pending changes under its lock, writes them all in one transaction and then
+     * records the generated row IDs. On failure the changes are handed back to their carts.
+     */
+    private void writeBack(List<String> emails) {
+        List<PendingWrite> writes = new ArrayList<>();
+        for (String email : emails) {
+            locked(email, () -> {
+                dirtyCarts.remove(email);
+                Cart cart = carts.get(email);
+                if (cart != null) {
+                    writes.add(takePending(email, cart));
+                }
+                return null;
+            });
+        }
+
+        List<Long> deletes = new ArrayList<>();
+        Map<Long, Integer> updates = new LinkedHashMap<>();
+        List<CartItemBatchRepository.NewCartItem> inserts = new ArrayList<>();
+        List<Line> insertedLines = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            deletes.addAll(write.deletedRowIds());
+            for (LineWrite lineWrite : write.lines()) {
+                if (lineWrite.line().rowId == null) {
+                    inserts.add(new CartItemBatchRepository.NewCartItem(write.userId(), lineWrite.line().productId, lineWrite.quantity()));
+                    insertedLines.add(lineWrite.line());
+                } else {
+                    updates.put(lineWrite.line().rowId, lineWrite.quantity());
+                }
+            }
+        }
+        if (deletes.isEmpty() && updates.isEmpty() && inserts.isEmpty()) {
+            return;
+        }
+
+        List<Long> rowIds;
+        try {
+            rowIds = writeBackTransaction.execute(status -> {
+                cartItemBatchRepository.deleteAll(deletes);
+                cartItemBatchRepository.updateQuantities(updates);
+                return cartItemBatchRepository.insertAll(inserts);
+            });
+        } catch (RuntimeException ex) {
+            writes.forEach(this::restorePending);
+            throw ex;
+        }
+
+        Map<Line, Long> rowIdByLine = new LinkedHashMap<>();
+        for (int i = 0; i < insertedLines.size(); i++) {
+            rowIdByLine.put(insertedLines.get(i), rowIds.get(i));
+        }
+        for (PendingWrite write : writes) {
+            locked(write.email(), () -> {
+                for (LineWrite lineWrite : write.lines()) {
+                    Line line = lineWrite.line();
+                    Long rowId = rowIdByLine.get(line);
+                    if (rowId == null) {
+                        continue;
+                    }
+                    line.rowId = rowId;
+                    // Removed while its insert was in flight
+                    if (line.removed) {
+                        write.cart().deletedRowIds.add(rowId);
+                        dirtyCarts.add(write.email());
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    private PendingWrite takePending(String email, Cart cart) {
+        List<LineWrite> lines = new ArrayList<>();
+        for (Line line : cart.linesByProduct.values()) {
+            if (line.dirty) {
+                lines.add(new LineWrite(line, line.quantity));
+                line.dirty = false;
+            }
+        }
+        List<Long> deletedRowIds = new ArrayList<>(cart.deletedRowIds);
+        cart.deletedRowIds.clear();
+        return new PendingWrite(email, cart, cart.userId, lines, deletedRowIds);
+    }
+
+    private void restorePending(PendingWrite write) {
+        locked(write.email(), () -> {
+            write.lines().forEach(lineWrite -> lineWrite.line().dirty = !lineWrite.line().removed);
+            write.cart().deletedRowIds.addAll(write.deletedRowIds());
+            dirtyCarts.add(write.email());
+            return null;
+        });
+    }
+
+    private void evictIfClean(String email, Duration idleFor) {
+        locked(email, () -> {
+            Cart cart = carts.get(email);
+            if (cart != null && !dirtyCarts.contains(email)
+                    && System.nanoTime() - cart.lastAccessNanos >= idleFor.toNanos()) {
+                carts.remove(email);
+            }
+            return null;
+        });
+    }
+
+    private <T> T withCart(String email, Function<Cart, T> action) {
+        return locked(email, () -> {
+            Cart cart = carts.get(email);
+            if (cart == null) {
+                cart = loadCart(email);
+                carts.put(email, cart);
+            }
+            cart.lastAccessNanos = System.nanoTime();
+            return action.apply(cart);
+        });
+    }
+
+    private Cart loadCart(String email) {
+        List<CartItem> items = cartItemRepository.findCartWithProducts(email);
+        // Any loaded line already carries an uninitialized reference to the owner
+        long userId = items.isEmpty()
+                ? userRepository.findByEmail(email)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"))
+                        .getId()
+                : items.get(0).getUser().getId();
+
+        Cart cart = new Cart(userId);
+        for (CartItem item : items) {
+            Long productId = item.getProduct().getId();
+            cart.linesByProduct.put(productId, new Line(item.getId(), productId, item.getId(), item.getQuantity()));
+        }
+        return cart;
+    }
+
+    private Line newLine(Cart cart, long productId) {
+        Line line = new Line(-pendingLineIds.incrementAndGet(), productId, null, 0);
+        cart.linesByProduct.put(productId, line);
+        return line;
+    }
+
+    private void markChanged(String email, Line line) {
+        line.dirty = true;
+        dirtyCarts.add(email);
+    }
+
+    private void remove(String email, Cart cart, Line line) {
+        cart.linesByProduct.remove(line.productId);
+        line.removed = true;
+        line.dirty = false;
+        if (line.rowId != null) {
+            cart.deletedRowIds.add(line.rowId);
+            dirtyCarts.add(email);
+        }
+    }
+
+    private List<LineSnapshot> snapshotLines(Cart cart) {
+        return cart.linesByProduct.values().stream()
+                .map(line -> new LineSnapshot(line.id, line.productId, line.quantity))
+                .toList();
+    }
+
+    /**
+     * Attaches current product details with one query; prices and availability are never cached with the cart.
+     */
+    private List<CartLine> toLines(List<LineSnapshot> lines) {
+        Set<Long> productIds = lines.stream().map(LineSnapshot::productId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return lines.stream()
+                .filter(line -> products.containsKey(line.productId()))
+                .map(line -> new CartLine(line.id(), products.get(line.productId()), line.quantity()))
+                .toList();
+    }
+
+    private <T> T locked(String email, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(email.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    // Guarded by the owner's stripe
+    private static final class Cart {
+        private final long userId;
+        private final Map<Long, Line> linesByProduct = new LinkedHashMap<>();
+        private final List<Long> deletedRowIds = new ArrayList<>();
+        private long lastAccessNanos;
+
+        private Cart(long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final class Line {
+        private final long id;
+        private final long productId;
+        private Long rowId;
+        private int quantity;
+        private boolean dirty;
+        private boolean removed;
+
+        private Line(long id, long productId, Long rowId, int quantity) {
+            this.id = id;
+            this.productId = productId;
+            this.rowId = rowId;
+            this.quantity = quantity;
+        }
+    }
+
+    private record LineSnapshot(long id, long productId, int quantity) {
+    }
+
+    private record LineWrite(Line line, int quantity) {
+    }
+
+    private record PendingWrite(String email, Cart cart, long userId, List<LineWrite> lines, List<Long> deletedRowIds) {
+    }
+}
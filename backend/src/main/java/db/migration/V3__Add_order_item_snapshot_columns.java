@@ -0,0 +1,45 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Adds the order item snapshot columns to databases that predate them. MySQL has no
+ * {@code ADD COLUMN IF NOT EXISTS}, and ddl-auto may or may not have added them already.
+ */
+public class V3__Add_order_item_snapshot_columns extends BaseJavaMigration {
+
+    private static final List<String> COLUMNS = List.of("product_name", "product_image");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        for (String column : COLUMNS) {
+            if (!hasColumn(connection, "order_items", column)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE order_items ADD COLUMN " + column + " VARCHAR(255)");
+                }
+            }
+        }
+    }
+
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Identifier case is vendor-specific: lower on MySQL, upper on H2
+        for (String[] names : List.of(new String[]{table, column}, new String[]{table.toUpperCase(), column.toUpperCase()})) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,235 @@
+-- Schema as it stood when migrations took over from spring.jpa.hibernate.ddl-auto=update.
+-- Every statement is IF NOT EXISTS: databases built by ddl-auto are baselined at version 0 and run
+-- this too, which only adds the tables they are missing.
+-- Enum-backed columns are VARCHAR so that adding a constant never needs DDL.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255),
+    address     VARCHAR(255),
+    google_id   VARCHAR(255),
+    role        VARCHAR(20)  NOT NULL,
+    enabled     BOOLEAN      NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_google_id UNIQUE (google_id)
+);
+
+CREATE TABLE IF NOT EXISTS seller_profiles (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id            BIGINT       NOT NULL,
+    business_name      VARCHAR(255) NOT NULL,
+    business_type      VARCHAR(255),
+    tax_id             VARCHAR(255),
+    website            VARCHAR(255),
+    description        TEXT,
+    address            TEXT,
+    document_url       VARCHAR(255),
+    status             VARCHAR(32)  NOT NULL,
+    ai_review_score    INT,
+    ai_review_summary  TEXT,
+    ai_review_issues   TEXT,
+    ai_recommendation  VARCHAR(255),
+    admin_notes        TEXT,
+    submitted_at       DATETIME(6),
+    reviewed_at        DATETIME(6),
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_seller_profiles_user UNIQUE (user_id),
+    CONSTRAINT fk_seller_profiles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id                 BIGINT         NOT NULL AUTO_INCREMENT,
+    name               VARCHAR(255)   NOT NULL,
+    description        TEXT,
+    price              DECIMAL(38, 2) NOT NULL,
+    original_price     DECIMAL(38, 2),
+    stock              INT            NOT NULL,
+    category           VARCHAR(255),
+    brand              VARCHAR(255),
+    sku                VARCHAR(255),
+    main_image_url     VARCHAR(255),
+    active             BOOLEAN        NOT NULL,
+    seller_id          BIGINT,
+    approval_status    VARCHAR(32),
+    ai_review_score    INT,
+    ai_review_summary  TEXT,
+    ai_review_issues   TEXT,
+    ai_recommendation  VARCHAR(255),
+    admin_notes        TEXT,
+    submitted_at       DATETIME(6),
+    reviewed_at        DATETIME(6),
+    rating             DOUBLE,
+    review_count       INT,
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_products_seller FOREIGN KEY (seller_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS product_images (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    image_url   VARCHAR(255),
+    product_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_product_images_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE IF NOT EXISTS cart_items (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT NOT NULL,
+    product_id  BIGINT NOT NULL,
+    quantity    INT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT         NOT NULL,
+    total_amount      DECIMAL(38, 2) NOT NULL,
+    status            VARCHAR(20)    NOT NULL,
+    shipping_address  VARCHAR(255),
+    payment_method    VARCHAR(255),
+    tracking_number   VARCHAR(255),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    order_id       BIGINT         NOT NULL,
+    product_id     BIGINT         NOT NULL,
+    quantity       INT            NOT NULL,
+    price          DECIMAL(38, 2) NOT NULL,
+    product_name   VARCHAR(255),
+    product_image  VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_summaries (
+    order_id       BIGINT         NOT NULL,
+    user_id        BIGINT         NOT NULL,
+    status         VARCHAR(20)    NOT NULL,
+    total_amount   DECIMAL(38, 2) NOT NULL,
+    item_count     INT            NOT NULL,
+    thumbnail_url  VARCHAR(255),
+    created_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (order_id),
+    INDEX idx_order_summaries_user_created (user_id, created_at, order_id)
+);
+
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    user_email       VARCHAR(255) NOT NULL,
+    idempotency_key  VARCHAR(100) NOT NULL,
+    request_hash     VARCHAR(64)  NOT NULL,
+    order_id         BIGINT       NOT NULL,
+    response_json    TEXT         NOT NULL,
+    created_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_idempotency_keys_user_key UNIQUE (user_email, idempotency_key)
+);
+
+CREATE TABLE IF NOT EXISTS order_events (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    order_id         BIGINT      NOT NULL,
+    event_type       VARCHAR(40) NOT NULL,
+    payload          TEXT        NOT NULL,
+    attempts         INT         NOT NULL,
+    next_attempt_at  DATETIME(6) NOT NULL,
+    claim_token      VARCHAR(36),
+    last_error       TEXT,
+    created_at       DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_order_events_next_attempt (next_attempt_at, id)
+);
+
+CREATE TABLE IF NOT EXISTS order_event_dead_letters (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    event_id    BIGINT      NOT NULL,
+    order_id    BIGINT      NOT NULL,
+    event_type  VARCHAR(40) NOT NULL,
+    payload     TEXT        NOT NULL,
+    attempts    INT         NOT NULL,
+    last_error  TEXT,
+    created_at  DATETIME(6),
+    failed_at   DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT      NOT NULL,
+    product_id  BIGINT      NOT NULL,
+    quantity    INT         NOT NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_stock_reservations_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_stock_reservations_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE IF NOT EXISTS dashboard_counters (
+    id                           BIGINT NOT NULL,
+    total_users                  BIGINT NOT NULL,
+    total_sellers                BIGINT NOT NULL,
+    total_products               BIGINT NOT NULL,
+    pending_seller_applications  BIGINT NOT NULL,
+    pending_product_reviews      BIGINT NOT NULL,
+    total_orders                 BIGINT NOT NULL,
+    pending_orders               BIGINT NOT NULL,
+    shipped_orders               BIGINT NOT NULL,
+    delivered_orders             BIGINT NOT NULL,
+    reconciled_at                DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    status            VARCHAR(20)  NOT NULL,
+    file_name         VARCHAR(255),
+    spool_path        VARCHAR(255) NOT NULL,
+    requested_by      VARCHAR(255),
+    last_row          INT          NOT NULL,
+    processed_rows    INT          NOT NULL,
+    created_rows      INT          NOT NULL,
+    updated_rows      INT          NOT NULL,
+    failed_rows       INT          NOT NULL,
+    row_errors        TEXT,
+    error_message     TEXT,
+    cancel_requested  BOOLEAN      NOT NULL,
+    created_at        DATETIME(6),
+    started_at        DATETIME(6),
+    finished_at       DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS rescore_jobs (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    status              VARCHAR(20)  NOT NULL,
+    requested_by        VARCHAR(255),
+    last_product_id     BIGINT       NOT NULL,
+    processed_products  INT          NOT NULL,
+    changed_products    INT          NOT NULL,
+    error_message       TEXT,
+    cancel_requested    BOOLEAN      NOT NULL,
+    created_at          DATETIME(6),
+    started_at          DATETIME(6),
+    finished_at         DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,12 @@
+-- ddl-auto=update created enum-backed columns as MySQL ENUMs, so every new constant needed an ALTER
+-- (AuthService used to issue the one for users.role at runtime). Already VARCHAR on new databases.
+
+ALTER TABLE users MODIFY COLUMN role VARCHAR(20) NOT NULL;
+ALTER TABLE seller_profiles MODIFY COLUMN status VARCHAR(32) NOT NULL;
+ALTER TABLE products MODIFY COLUMN approval_status VARCHAR(32);
+ALTER TABLE orders MODIFY COLUMN status VARCHAR(20) NOT NULL;
+ALTER TABLE order_summaries MODIFY COLUMN status VARCHAR(20) NOT NULL;
+ALTER TABLE order_events MODIFY COLUMN event_type VARCHAR(40) NOT NULL;
+ALTER TABLE order_event_dead_letters MODIFY COLUMN event_type VARCHAR(40) NOT NULL;
+ALTER TABLE import_jobs MODIFY COLUMN status VARCHAR(20) NOT NULL;
+ALTER TABLE rescore_jobs MODIFY COLUMN status VARCHAR(20) NOT NULL;
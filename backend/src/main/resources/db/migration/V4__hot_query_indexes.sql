@@ -0,0 +1,39 @@
+-- Indexes for the predicates the storefront, cart and order history run on every request.
+
+-- Storefront listings: active and approved products, optionally by category, newest first
+CREATE INDEX idx_products_public_newest ON products (active, approval_status, created_at, id);
+CREATE INDEX idx_products_public_category ON products (active, approval_status, category, created_at, id);
+
+-- CSV import upserts by SKU; products without one are unaffected
+CREATE UNIQUE INDEX uk_products_sku ON products (sku);
+
+-- One line per product and user. Merge any duplicates into the oldest line first; the derived tables
+-- keep MySQL from rejecting a subquery on the table being changed.
+UPDATE cart_items
+SET quantity = (
+    SELECT totals.quantity FROM (
+        SELECT user_id, product_id, SUM(quantity) AS quantity FROM cart_items GROUP BY user_id, product_id
+    ) totals
+    WHERE totals.user_id = cart_items.user_id AND totals.product_id = cart_items.product_id
+)
+WHERE id IN (
+    SELECT keep.id FROM (
+        SELECT MIN(id) AS id FROM cart_items GROUP BY user_id, product_id HAVING COUNT(*) > 1
+    ) keep
+);
+DELETE FROM cart_items
+WHERE id NOT IN (
+    SELECT keep.id FROM (
+        SELECT MIN(id) AS id FROM cart_items GROUP BY user_id, product_id
+    ) keep
+);
+CREATE UNIQUE INDEX uk_cart_items_user_product ON cart_items (user_id, product_id);
+
+-- Order history (per user and admin-wide), both keyset-paged newest first, and status counts
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
+CREATE INDEX idx_orders_created ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_status ON orders (status);
+
+-- Reservation sweeps and idempotency key purges
+CREATE INDEX idx_stock_reservations_expires ON stock_reservations (expires_at);
+CREATE INDEX idx_order_idempotency_keys_created ON order_idempotency_keys (created_at);
@@ -0,0 +1,5 @@
+-- Import jobs are owned by the instance holding the spooled upload, which renews a lease while the job
+-- is queued or running there. Other instances only take over a job once its lease has expired.
+
+ALTER TABLE import_jobs ADD COLUMN owner_id VARCHAR(255);
+ALTER TABLE import_jobs ADD COLUMN lease_expires_at DATETIME(6);
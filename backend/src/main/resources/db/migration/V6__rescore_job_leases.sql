@@ -0,0 +1,15 @@
+-- Rescore jobs get the same owner and lease as import jobs (V5). active_slot is 1 while a job is queued
+-- or running and NULL afterwards; its unique index lets only one active job exist at a time.
+
+ALTER TABLE rescore_jobs ADD COLUMN owner_id VARCHAR(255);
+ALTER TABLE rescore_jobs ADD COLUMN lease_expires_at DATETIME(6);
+ALTER TABLE rescore_jobs ADD COLUMN active_slot INT;
+
+-- Should two active jobs already exist, the newest one keeps the slot
+UPDATE rescore_jobs SET active_slot = 1
+WHERE id = (
+    SELECT latest.id FROM (
+        SELECT MAX(id) AS id FROM rescore_jobs WHERE status IN ('QUEUED', 'RUNNING')
+    ) latest
+);
+CREATE UNIQUE INDEX uk_rescore_jobs_active_slot ON rescore_jobs (active_slot);
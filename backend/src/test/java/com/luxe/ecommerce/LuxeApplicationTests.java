@@ -10,6 +10,7 @@ import org.springframework.test.context.TestPropertySource;
         "spring.datasource.driver-class-name=org.h2.Driver",
         "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
         "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
         "app.bootstrap-admin.enabled=false",
         "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
         "app.jwt.expiration=86400000"
@@ -0,0 +1,118 @@
+package com.luxe.ecommerce.benchmark;
+
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.service.AiVerificationService;
+import com.luxe.ecommerce.service.SuspiciousTermMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suspicious-term screening of long listing descriptions: the previous lowercase-then-contains-per-term scan,
+ * the compiled single-pass matcher, and a full product review served from the content-hash memo.
+ * The per-term scan grows with the dictionary; the single pass does not.
+ * <p>
+ * Run with {@code mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.luxe.ecommerce.benchmark.AiVerificationBenchmark"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AiVerificationBenchmark {
+
+    private static final List<String> DEFAULT_TERMS = List.of("fake", "replica", "copy", "dummy", "test product");
+
+    @Param({"2000", "20000"})
+    private int descriptionLength;
+
+    // The shipped dictionary, and one grown to the size a marketplace trust team typically ends up with
+    @Param({"5", "50"})
+    private int termCount;
+
+    private List<String> terms;
+    private String description;
+    private SuspiciousTermMatcher matcher;
+    private AiVerificationService service;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        // Clean copy (the common case) so every scan has to read the whole text
+        StringBuilder text = new StringBuilder();
+        String sentence = "Hand-stitched Italian Calfskin Tote with Brass Hardware and a Suede-lined Interior. ";
+        while (text.length() < descriptionLength) {
+            text.append(sentence);
+        }
+        description = text.substring(0, descriptionLength);
+
+        terms = new ArrayList<>(DEFAULT_TERMS);
+        for (int i = 0; terms.size() < termCount; i++) {
+            terms.add("knockoff grade " + i);
+        }
+        matcher = SuspiciousTermMatcher.compile(terms);
+
+        service = new AiVerificationService();
+        ReflectionTestUtils.setField(service, "suspiciousTerms", terms);
+        ReflectionTestUtils.setField(service, "resultCacheSize", 1000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        product = Product.builder()
+                .name("Calfskin Tote")
+                .description(description)
+                .price(new BigDecimal("1290.00"))
+                .stock(12)
+                .category("Bags")
+                .brand("Atelier Nord")
+                .mainImageUrl("https://cdn.luxe.test/tote.jpg")
+                .build();
+    }
+
+    @Benchmark
+    public boolean lowercaseThenContainsEachTerm() {
+        String normalized = description.toLowerCase(Locale.ROOT);
+        for (String term : terms) {
+            if (normalized.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean compiledSinglePass() {
+        return matcher.matchesAny(description);
+    }
+
+    @Benchmark
+    public AiVerificationService.ReviewResult memoizedProductReview() {
+        return service.reviewProduct(product);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AiVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
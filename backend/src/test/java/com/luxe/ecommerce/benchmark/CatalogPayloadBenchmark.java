@@ -0,0 +1,157 @@
+package com.luxe.ecommerce.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductApprovalStatus;
+import com.luxe.ecommerce.model.ProductImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serializing one storefront page: the full Product entities the listing used to return, the slim
+ * {@link CatalogDto.ProductResponse}, and the same DTOs stitched from cached {@link ProductJson} bytes.
+ * Payload sizes are printed during setup.
+ * <p>
+ * Run with {@code mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.luxe.ecommerce.benchmark.CatalogPayloadBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogPayloadBenchmark {
+
+    @Param({"12", "48"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Product> entityPage;
+    private Page<CatalogDto.ProductResponse> dtoPage;
+    private Page<ProductJson> cachedPage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PageRequest pageable = PageRequest.of(0, pageSize);
+
+        List<Product> products = IntStream.range(0, pageSize).mapToObj(this::product).toList();
+        List<CatalogDto.ProductResponse> responses = products.stream().map(this::response).toList();
+        List<ProductJson> cached = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Product product = products.get(i);
+            cached.add(new ProductJson(product.getId(), product.getCreatedAt(), product.getUpdatedAt(),
+                    objectMapper.writeValueAsBytes(responses.get(i))));
+        }
+
+        entityPage = new PageImpl<>(products, pageable, 500);
+        dtoPage = new PageImpl<>(responses, pageable, 500);
+        cachedPage = new PageImpl<>(cached, pageable, 500);
+
+        System.out.printf("%nPayload bytes for %d products: entity=%d, dto=%d, cached=%d%n", pageSize,
+                serializeEntities().length, serializeDtos().length, stitchCachedJson().length);
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] serializeDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtoPage);
+    }
+
+    @Benchmark
+    public byte[] stitchCachedJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cachedPage);
+    }
+
+    private Product product(int i) {
+        Product product = Product.builder()
+                .id((long) i + 1)
+                .name("Silk scarf " + i)
+                .description("Hand-rolled mulberry silk twill, printed in Como and finished by hand. ".repeat(6))
+                .price(new BigDecimal("420.00"))
+                .originalPrice(new BigDecimal("480.00"))
+                .stock(12)
+                .category("Accessories")
+                .brand("Luxe")
+                .sku("SKU-SCARF-" + i)
+                .mainImageUrl("https://cdn.example.com/scarf-" + i + "/1.jpg")
+                .active(true)
+                .approvalStatus(ProductApprovalStatus.APPROVED)
+                .aiReviewScore(92)
+                .aiReviewSummary("Complete listing with consistent pricing, imagery and brand details.")
+                .aiReviewIssues("[]")
+                .aiRecommendation("APPROVE")
+                .adminNotes("Approved after the spring catalogue review.")
+                .submittedAt(LocalDateTime.now().minusDays(3))
+                .reviewedAt(LocalDateTime.now().minusDays(2))
+                .rating(4.7)
+                .reviewCount(38)
+                .createdAt(LocalDateTime.now().minusDays(3))
+                .updatedAt(LocalDateTime.now().minusDays(2))
+                .build();
+        product.setImages(IntStream.rangeClosed(1, 4)
+                .mapToObj(n -> ProductImage.builder()
+                        .id((long) i * 10 + n)
+                        .imageUrl("https://cdn.example.com/scarf-" + i + "/" + n + ".jpg")
+                        .product(product)
+                        .build())
+                .toList());
+        return product;
+    }
+
+    private CatalogDto.ProductResponse response(Product product) {
+        CatalogDto.ProductResponse response = new CatalogDto.ProductResponse();
+        response.setId(product.getId());
+        response.setName(product.getName());
+        response.setDescription(product.getDescription());
+        response.setPrice(product.getPrice());
+        response.setOriginalPrice(product.getOriginalPrice());
+        response.setStock(product.getStock());
+        response.setCategory(product.getCategory());
+        response.setBrand(product.getBrand());
+        response.setSku(product.getSku());
+        response.setMainImageUrl(product.getMainImageUrl());
+        response.setImages(product.getImages().stream().map(ProductImage::getImageUrl).toList());
+        response.setRating(product.getRating());
+        response.setReviewCount(product.getReviewCount());
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogPayloadBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.luxe.ecommerce.benchmark;
+
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in JwtAuthFilter: the old validate-then-extract path, a single verification
+ * with the parser built once, and {@link JwtUtil#parse} with its verified-token cache.
+ * <p>
+ * Run with {@code mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.luxe.ecommerce.benchmark.JwtParsingBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890";
+
+    private JwtUtil jwtUtil;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        sharedParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        token = jwtUtil.generateToken(User.builder()
+                .id(42L)
+                .email("shopper@luxe.test")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Benchmark
+    public String validateThenExtractWithFreshKeys() {
+        // What the filter did before: two parsers, two key derivations, two HMAC checks
+        Key validationKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Jwts.parserBuilder().setSigningKey(validationKey).build().parseClaimsJws(token);
+
+        Key extractionKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(extractionKey).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String verifyOnceWithSharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String parseWithVerifiedTokenCache() {
+        return jwtUtil.parse(token).map(Claims::getSubject).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
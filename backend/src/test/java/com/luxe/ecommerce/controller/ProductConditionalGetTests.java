@@ -0,0 +1,107 @@
+package com.luxe.ecommerce.controller;
+
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditionalget",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000",
+        "app.http.catalog.shared-max-age=30s"
+})
+class ProductConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unchangedListingIsAnsweredWithoutQueries() throws Exception {
+        productService.createProduct(product("Silk scarf", "SKU-LIST"));
+
+        String etag = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate, public, s-maxage=30"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        productService.createProduct(product("Cashmere wrap", "SKU-LIST-2"));
+
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void productEtagFollowsUpdates() throws Exception {
+        Product product = productService.createProduct(product("Leather tote", "SKU-DETAIL"));
+
+        String etag = mockMvc.perform(get("/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Only the gallery changes, which does not touch any column of the product row
+        ProductDto update = product("Leather tote", "SKU-DETAIL");
+        update.setImages(List.of("https://cdn.example.com/SKU-DETAIL/1.jpg", "https://cdn.example.com/SKU-DETAIL/2.jpg"));
+        productService.updateProduct(product.getId(), update);
+
+        String updatedEtag = mockMvc.perform(get("/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedEtag).isNotEqualTo(etag);
+    }
+
+    private ProductDto product(String name, String sku) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Made in Florence");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(5);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setSku(sku);
+        dto.setImages(List.of("https://cdn.example.com/" + sku + "/1.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,210 @@
+package com.luxe.ecommerce.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a database with the Flyway scripts, seeds it, and checks with {@code EXPLAIN} that each hot
+ * repository query is answered from an index rather than a table scan.
+ * <p>
+ * Runs against H2 in MySQL mode by default. Set {@code EXPLAIN_DB_URL} (plus {@code EXPLAIN_DB_USERNAME}
+ * and {@code EXPLAIN_DB_PASSWORD}) to check the real plans on a local MySQL, e.g. the docker-compose one.
+ * Point it at a scratch schema: the test migrates it and inserts rows.
+ */
+class QueryPlanTests {
+
+    private static final int USERS = 50;
+    private static final int PRODUCTS = 2000;
+    private static final int ORDERS = 2000;
+
+    private static JdbcTemplate jdbc;
+    private static boolean mysql;
+
+    // SQL equivalent of each repository query, as Hibernate renders it for the parameters given
+    private static final Map<String, Query> QUERIES = new LinkedHashMap<>();
+
+    static {
+        String publicProduct = "p.active = TRUE AND (p.approval_status = 'APPROVED' OR p.approval_status IS NULL)";
+        QUERIES.put("ProductRepository.findPublicProductKeysNewestFirst", new Query(
+                "SELECT p.created_at, p.id FROM products p WHERE " + publicProduct + " ORDER BY p.created_at DESC, p.id DESC LIMIT 21"));
+        QUERIES.put("ProductRepository.findPublicProductKeysBefore", new Query(
+                "SELECT p.created_at, p.id FROM products p WHERE " + publicProduct +
+                " AND (p.created_at < ? OR (p.created_at = ? AND p.id < ?)) ORDER BY p.created_at DESC, p.id DESC LIMIT 21",
+                minutesAgo(100), minutesAgo(100), 1900L));
+        QUERIES.put("ProductRepository.findPublicProductKeysByCategoryNewestFirst", new Query(
+                "SELECT p.created_at, p.id FROM products p WHERE " + publicProduct + " AND p.category = ? " +
+                "ORDER BY p.created_at DESC, p.id DESC LIMIT 21", "Category 7"));
+        QUERIES.put("ProductRepository.findBySku", new Query(
+                "SELECT p.id FROM products p WHERE p.sku = ?", "SKU-00042"));
+        QUERIES.put("ProductImportRepository.findIdsBySku", new Query(
+                "SELECT id, sku FROM products WHERE sku IN (?, ?, ?) ORDER BY id", "SKU-00001", "SKU-00500", "SKU-01999"));
+        QUERIES.put("UserRepository.findByEmail", new Query(
+                "SELECT u.id FROM users u WHERE u.email = ?", "user7@luxe.test"));
+        QUERIES.put("CartItemRepository.findCartWithProducts", new Query(
+                "SELECT ci.id, p.id FROM cart_items ci JOIN users u ON u.id = ci.user_id " +
+                "JOIN products p ON p.id = ci.product_id WHERE u.email = ? ORDER BY ci.id", "user7@luxe.test"));
+        QUERIES.put("OrderRepository.findByUserNewestFirst", new Query(
+                "SELECT o.id FROM orders o WHERE o.user_id = ? ORDER BY o.created_at DESC, o.id DESC LIMIT 11", 7L));
+        QUERIES.put("OrderRepository.findByUserBefore", new Query(
+                "SELECT o.id FROM orders o WHERE o.user_id = ? AND (o.created_at < ? OR (o.created_at = ? AND o.id < ?)) " +
+                "ORDER BY o.created_at DESC, o.id DESC LIMIT 11", 7L, minutesAgo(500), minutesAgo(500), 1500L));
+        QUERIES.put("OrderRepository.findAllNewestFirst", new Query(
+                "SELECT o.id FROM orders o ORDER BY o.created_at DESC, o.id DESC LIMIT 21"));
+        QUERIES.put("OrderRepository.countByStatus", new Query(
+                "SELECT COUNT(o.id) FROM orders o WHERE o.status = ?", "SHIPPED"));
+        QUERIES.put("OrderRepository.findItemViewsByOrderIds", new Query(
+                "SELECT oi.order_id, p.id FROM order_items oi JOIN products p ON p.id = oi.product_id " +
+                "WHERE oi.order_id IN (?, ?, ?) ORDER BY oi.id", 10L, 11L, 12L));
+        QUERIES.put("OrderSummaryRepository.findByUserNewestFirst", new Query(
+                "SELECT s.order_id FROM order_summaries s WHERE s.user_id = ? ORDER BY s.created_at DESC, s.order_id DESC LIMIT 21", 7L));
+        QUERIES.put("StockReservationRepository.findActive", new Query(
+                "SELECT r.user_id, r.product_id FROM stock_reservations r WHERE r.expires_at > ?", Timestamp.valueOf(LocalDateTime.now())));
+        QUERIES.put("OrderIdempotencyKeyRepository.findLive", new Query(
+                "SELECT k.id FROM order_idempotency_keys k WHERE k.user_email = ? AND k.idempotency_key = ? AND k.created_at >= ?",
+                "user7@luxe.test", "key-7", minutesAgo(1900)));
+        QUERIES.put("OrderIdempotencyKeyRepository.deleteExpired", new Query(
+                "SELECT k.id FROM order_idempotency_keys k WHERE k.user_email = ? AND k.idempotency_key = ? AND k.created_at < ?",
+                "user7@luxe.test", "key-7", minutesAgo(1900)));
+        QUERIES.put("OrderIdempotencyKeyRepository.deleteCreatedBefore", new Query(
+                "SELECT k.id FROM order_idempotency_keys k WHERE k.created_at < ?", minutesAgo(1900)));
+        QUERIES.put("OrderEventRepository.claimDue", new Query(
+                "SELECT id FROM order_events WHERE next_attempt_at <= ? ORDER BY next_attempt_at, id LIMIT 100", minutesAgo(1900)));
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        String url = System.getenv("EXPLAIN_DB_URL");
+        mysql = url != null && !url.isBlank();
+        DriverManagerDataSource dataSource = mysql
+                ? new DriverManagerDataSource(url, System.getenv("EXPLAIN_DB_USERNAME"), System.getenv("EXPLAIN_DB_PASSWORD"))
+                : new DriverManagerDataSource("jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("0").load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        seed();
+        if (mysql) {
+            jdbc.execute("ANALYZE TABLE users, products, cart_items, orders, order_items, order_summaries, " +
+                    "stock_reservations, order_idempotency_keys, order_events");
+        } else {
+            jdbc.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        Map<String, List<String>> scans = new LinkedHashMap<>();
+        QUERIES.forEach((name, query) -> {
+            List<String> tableScans = tableScans(query);
+            if (!tableScans.isEmpty()) {
+                scans.put(name, tableScans);
+            }
+        });
+        assertThat(scans).as("queries with a table scan").isEmpty();
+    }
+
+    private List<String> tableScans(Query query) {
+        List<String> scans = new ArrayList<>();
+        if (mysql) {
+            jdbc.query("EXPLAIN " + query.sql(), rs -> {
+                if (rs.getString("key") == null && rs.getString("table") != null) {
+                    scans.add(rs.getString("table") + " (type " + rs.getString("type") + ")");
+                }
+            }, query.args());
+        } else {
+            String plan = jdbc.queryForObject("EXPLAIN " + query.sql(), String.class, query.args());
+            if (plan.contains(".tableScan")) {
+                scans.add(plan);
+            }
+        }
+        return scans;
+    }
+
+    private static void seed() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String runId = Long.toString(System.nanoTime(), 36);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = i == 7 ? "user7@luxe.test" : "user" + i + "-" + runId + "@luxe.test";
+            users.add(new Object[]{email, "secret", "User " + i, "USER", true, now, now});
+        }
+        // Re-runs against the same MySQL schema find user7 already there
+        jdbc.update("DELETE FROM cart_items WHERE user_id IN (SELECT id FROM users WHERE email = 'user7@luxe.test')");
+        jdbc.batchUpdate("INSERT INTO users (email, password, full_name, role, enabled, created_at, updated_at) " +
+                "SELECT ?, ?, ?, ?, ?, ?, ? FROM (SELECT 1 AS one) seed WHERE NOT EXISTS " +
+                "(SELECT 1 FROM users WHERE email = 'user7@luxe.test' AND 'user7@luxe.test' = ?)",
+                users.stream().map(row -> new Object[]{row[0], row[1], row[2], row[3], row[4], row[5], row[6], row[0]}).toList());
+        List<Long> userIds = jdbc.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String status = i % 10 == 0 ? "PENDING_REVIEW" : "APPROVED";
+            products.add(new Object[]{"Product " + i, 100, 10, "Category " + (i % 20), "SKU-" + runId + "-" + i,
+                    i % 25 != 0, status, minutesAgo(i), now});
+        }
+        jdbc.batchUpdate("INSERT INTO products (name, price, stock, category, sku, active, approval_status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+        List<Long> productIds = jdbc.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+
+        List<Object[]> orders = new ArrayList<>();
+        String[] statuses = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(new Object[]{userIds.get(i % userIds.size()), 100, statuses[i % statuses.length], minutesAgo(i), now});
+        }
+        jdbc.batchUpdate("INSERT INTO orders (user_id, total_amount, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", orders);
+        List<Long> orderIds = jdbc.queryForList("SELECT id FROM orders ORDER BY id", Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> summaries = new ArrayList<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            Long orderId = orderIds.get(i);
+            items.add(new Object[]{orderId, productIds.get(i % productIds.size()), 1, 100});
+            items.add(new Object[]{orderId, productIds.get((i + 1) % productIds.size()), 2, 100});
+            summaries.add(new Object[]{orderId, userIds.get(i % userIds.size()), "PENDING", 100, 2, now});
+        }
+        jdbc.batchUpdate("INSERT INTO order_items (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)", items);
+        jdbc.batchUpdate("INSERT INTO order_summaries (order_id, user_id, status, total_amount, item_count, created_at) " +
+                "SELECT ?, ?, ?, ?, ?, ? FROM (SELECT 1 AS one) seed WHERE NOT EXISTS " +
+                "(SELECT 1 FROM order_summaries WHERE order_id = ?)",
+                summaries.stream().map(row -> new Object[]{row[0], row[1], row[2], row[3], row[4], row[5], row[0]}).toList());
+
+        List<Object[]> cartLines = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> keys = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Long userId = userIds.get(i % userIds.size());
+            Long productId = productIds.get(productIds.size() - 1 - i);
+            cartLines.add(new Object[]{userId, productId, 1});
+            // Almost all reservations have lapsed, as in steady state
+            reservations.add(new Object[]{userId, productId, 1, i % 50 == 0 ? Timestamp.valueOf(LocalDateTime.now().plusMinutes(10)) : minutesAgo(i + 1), now});
+            keys.add(new Object[]{"user" + (i % USERS) + "@luxe.test", "key-" + runId + "-" + i, "hash", orderIds.get(i), "{}", minutesAgo(i * 4)});
+            events.add(new Object[]{orderIds.get(i), "ORDER_PLACED", "{}", 0, i % 100 == 0 ? minutesAgo(2000) : Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), now});
+        }
+        jdbc.batchUpdate("INSERT INTO cart_items (user_id, product_id, quantity) VALUES (?, ?, ?)", cartLines);
+        jdbc.batchUpdate("INSERT INTO stock_reservations (user_id, product_id, quantity, expires_at, created_at) VALUES (?, ?, ?, ?, ?)", reservations);
+        jdbc.batchUpdate("INSERT INTO order_idempotency_keys (user_email, idempotency_key, request_hash, order_id, response_json, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", keys);
+        jdbc.batchUpdate("INSERT INTO order_events (order_id, event_type, payload, attempts, next_attempt_at, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", events);
+    }
+
+    private static Timestamp minutesAgo(int minutes) {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutes));
+    }
+
+    private record Query(String sql, Object... args) {
+    }
+}
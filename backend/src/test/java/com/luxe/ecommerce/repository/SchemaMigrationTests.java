@@ -0,0 +1,29 @@
+package com.luxe.ecommerce.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Builds the schema with the Flyway migrations only and has Hibernate validate every entity against it,
+ * so an entity change without a matching migration fails here rather than in production.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class SchemaMigrationTests {
+
+    @Test
+    void entitiesMatchTheMigratedSchema() {
+    }
+}
@@ -0,0 +1,198 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cartquerycount",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class CartQueryCountTests {
+
+    private static final int LARGE_CART = 20;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void seedCatalog() {
+        cartItemRepository.deleteAllInBatch();
+        for (int i = 0; i < LARGE_CART + 1; i++) {
+            products.add(productService.createProduct(product("Cashmere wrap " + i)));
+        }
+    }
+
+    @Test
+    void getCartStatementCountDoesNotGrowWithCartSize() {
+        String small = shopperWithCart("get-small@luxe.test", 1);
+        String large = shopperWithCart("get-large@luxe.test", LARGE_CART);
+
+        long smallCount = statementsFor(() -> cartService.getCart(small), 1);
+        long largeCount = statementsFor(() -> cartService.getCart(large), LARGE_CART);
+
+        assertThat(largeCount).isEqualTo(smallCount);
+        assertThat(smallCount).isEqualTo(1);
+    }
+
+    @Test
+    void addToCartStatementCountDoesNotGrowWithCartSize() {
+        String small = shopperWithCart("add-small@luxe.test", 1);
+        String large = shopperWithCart("add-large@luxe.test", LARGE_CART);
+        Long newProductId = products.get(LARGE_CART).getId();
+        Long existingProductId = products.get(0).getId();
+
+        long smallNewLine = statementsFor(() -> cartService.addToCart(small, item(newProductId, 1)), 2);
+        long largeNewLine = statementsFor(() -> cartService.addToCart(large, item(newProductId, 1)), LARGE_CART + 1);
+        assertThat(largeNewLine).isEqualTo(smallNewLine);
+        assertThat(smallNewLine).isLessThanOrEqualTo(3);
+
+        long smallExisting = statementsFor(() -> cartService.addToCart(small, item(existingProductId, 1)), 2);
+        long largeExisting = statementsFor(() -> cartService.addToCart(large, item(existingProductId, 1)), LARGE_CART + 1);
+        assertThat(largeExisting).isEqualTo(smallExisting);
+        assertThat(smallExisting).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void updateCartItemStatementCountDoesNotGrowWithCartSize() {
+        String small = shopperWithCart("update-small@luxe.test", 1);
+        String large = shopperWithCart("update-large@luxe.test", LARGE_CART);
+        Long smallItemId = cartService.getCart(small).getItems().get(0).getId();
+        Long largeItemId = cartService.getCart(large).getItems().get(0).getId();
+
+        long smallCount = statementsFor(() -> cartService.updateCartItem(small, smallItemId, 3), 1);
+        long largeCount = statementsFor(() -> cartService.updateCartItem(large, largeItemId, 3), LARGE_CART);
+
+        assertThat(largeCount).isEqualTo(smallCount);
+        assertThat(smallCount).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void batchLooksUpAllProductsWithOneQuery() {
+        String shopper = shopperWithCart("batch@luxe.test", 0);
+        List<CartDto.CartOperation> operations = new ArrayList<>();
+        for (int i = 0; i < LARGE_CART; i++) {
+            CartDto.CartOperation add = new CartDto.CartOperation();
+            add.setOp(CartDto.CartOperationType.ADD);
+            add.setProductId(products.get(i).getId());
+            add.setQuantity(1);
+            operations.add(add);
+        }
+        CartDto.CartOperation remove = new CartDto.CartOperation();
+        remove.setOp(CartDto.CartOperationType.REMOVE);
+        remove.setProductId(products.get(0).getId());
+        operations.add(remove);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CartDto.CartResponse cart = cartService.applyOperations(shopper, operations);
+
+        assertThat(cart.getItems()).hasSize(LARGE_CART - 1);
+        // Cart load, product lookup and owner lookup; every other statement writes a line
+        long writes = statistics.getEntityInsertCount() + statistics.getEntityDeleteCount();
+        assertThat(statistics.getPrepareStatementCount() - writes).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void batchCanRemoveAndAddBackTheSameProduct() {
+        String shopper = shopperWithCart("readd@luxe.test", 1);
+        CartDto.CartOperation remove = new CartDto.CartOperation();
+        remove.setOp(CartDto.CartOperationType.REMOVE);
+        remove.setProductId(products.get(0).getId());
+        CartDto.CartOperation add = new CartDto.CartOperation();
+        add.setOp(CartDto.CartOperationType.ADD);
+        add.setProductId(products.get(0).getId());
+        add.setQuantity(4);
+
+        CartDto.CartResponse cart = cartService.applyOperations(shopper, List.of(remove, add));
+
+        assertThat(cart.getItems()).singleElement().satisfies(line -> assertThat(line.getQuantity()).isEqualTo(4));
+    }
+
+    private long statementsFor(Supplier<CartDto.CartResponse> call, int expectedLines) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CartDto.CartResponse cart = call.get();
+        assertThat(cart.getItems()).hasSize(expectedLines);
+        assertThat(cart.getItems()).allSatisfy(line -> assertThat(line.getProductName()).startsWith("Cashmere wrap"));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String shopperWithCart(String email, int lines) {
+        User shopper = userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        for (int i = 0; i < lines; i++) {
+            cartItemRepository.save(CartItem.builder().user(shopper).product(products.get(i)).quantity(1).build());
+        }
+        return email;
+    }
+
+    private CartDto.CartItemRequest item(Long productId, int quantity) {
+        CartDto.CartItemRequest request = new CartDto.CartItemRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Brushed Mongolian cashmere");
+        dto.setPrice(new BigDecimal("340.00"));
+        dto.setStock(50);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/" + name + "/1.jpg"));
+        return dto;
+    }
+}
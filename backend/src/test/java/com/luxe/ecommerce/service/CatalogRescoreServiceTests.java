@@ -0,0 +1,201 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.RescoreJobResponse;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.RescoreJob;
+import com.luxe.ecommerce.model.RescoreJob.RescoreJobStatus;
+import com.luxe.ecommerce.repository.RescoreJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogrescore",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000",
+        // Several ranges per run, without the throttle
+        "app.rescore.chunk-size=2",
+        "app.rescore.pause=0ms",
+        "app.instance-id=test-instance",
+        // Heartbeats only run when a test calls them
+        "app.jobs.heartbeat-interval-ms=3600000"
+})
+class CatalogRescoreServiceTests {
+
+    @Autowired
+    private CatalogRescoreService catalogRescoreService;
+
+    @Autowired
+    private RescoreJobRepository rescoreJobRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() {
+        jdbcTemplate.update("DELETE FROM rescore_jobs");
+    }
+
+    @Test
+    void writesBackOnlyProductsWhoseOutcomeChanged() throws Exception {
+        List<Product> products = createProducts("Silk", 3);
+        awaitFinished(catalogRescoreService.startRescore("admin@luxe.test").getId());
+
+        Product stale = products.get(1);
+        Product untouched = products.get(2);
+        jdbcTemplate.update("UPDATE products SET ai_review_score = -1 WHERE id = ?", stale.getId());
+        // Same outcome, so the rescore has no reason to rewrite the summary
+        jdbcTemplate.update("UPDATE products SET ai_review_summary = 'kept' WHERE id = ?", untouched.getId());
+
+        RescoreJobResponse job = awaitFinished(catalogRescoreService.startRescore("admin@luxe.test").getId());
+
+        assertThat(job.getStatus()).isEqualTo(RescoreJobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(productCount());
+        assertThat(job.getChanged()).isEqualTo(1);
+        assertThat(job.getLastProductId()).isEqualTo(maxProductId());
+        assertThat(score(stale.getId())).isNotEqualTo(-1);
+        assertThat(jdbcTemplate.queryForObject("SELECT ai_review_summary FROM products WHERE id = ?",
+                String.class, untouched.getId())).isEqualTo("kept");
+    }
+
+    @Test
+    void restartResumesAfterTheCheckpoint() throws Exception {
+        List<Product> products = createProducts("Cashmere", 4);
+        awaitFinished(catalogRescoreService.startRescore("admin@luxe.test").getId());
+
+        long checkpoint = products.get(1).getId();
+        jdbcTemplate.update("UPDATE products SET ai_review_score = -1 WHERE id IN (?, ?)",
+                products.get(0).getId(), products.get(3).getId());
+        RescoreJob interrupted = rescoreJobRepository.save(RescoreJob.builder()
+                .status(RescoreJobStatus.RUNNING)
+                .requestedBy("admin@luxe.test")
+                .lastProductId(checkpoint)
+                .ownerId("test-instance")
+                .leaseExpiresAt(LocalDateTime.now().plusMinutes(10))
+                .startedAt(LocalDateTime.now().minusMinutes(5))
+                .build());
+
+        catalogRescoreService.resumeInterruptedJobs();
+        RescoreJobResponse job = awaitFinished(interrupted.getId());
+
+        assertThat(job.getStatus()).isEqualTo(RescoreJobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE id > ?", Integer.class, checkpoint));
+        assertThat(job.getChanged()).isEqualTo(1);
+        // Behind the checkpoint, so not revisited
+        assertThat(score(products.get(0).getId())).isEqualTo(-1);
+        assertThat(score(products.get(3).getId())).isNotEqualTo(-1);
+    }
+
+    @Test
+    void cancelledJobIsFinishedOnResumeAndFreesTheSlot() throws Exception {
+        RescoreJob cancelled = rescoreJobRepository.save(RescoreJob.builder()
+                .status(RescoreJobStatus.RUNNING)
+                .requestedBy("admin@luxe.test")
+                .cancelRequested(true)
+                .ownerId("test-instance")
+                .leaseExpiresAt(LocalDateTime.now().plusMinutes(10))
+                .startedAt(LocalDateTime.now().minusMinutes(5))
+                .build());
+
+        catalogRescoreService.resumeInterruptedJobs();
+
+        assertThat(awaitFinished(cancelled.getId()).getStatus()).isEqualTo(RescoreJobStatus.CANCELLED);
+        assertThat(rescoreJobRepository.findById(cancelled.getId()).orElseThrow().getActiveSlot()).isNull();
+        assertThat(awaitFinished(catalogRescoreService.startRescore("admin@luxe.test").getId()).getStatus())
+                .isEqualTo(RescoreJobStatus.COMPLETED);
+    }
+
+    @Test
+    void jobLeasedByALiveInstanceIsLeftAloneAndBlocksASecondJob() {
+        RescoreJob othersJob = rescoreJobRepository.save(RescoreJob.builder()
+                .status(RescoreJobStatus.RUNNING)
+                .requestedBy("admin@luxe.test")
+                .ownerId("other-instance")
+                .leaseExpiresAt(LocalDateTime.now().plusMinutes(10))
+                .startedAt(LocalDateTime.now().minusMinutes(5))
+                .build());
+
+        catalogRescoreService.resumeInterruptedJobs();
+
+        RescoreJob others = rescoreJobRepository.findById(othersJob.getId()).orElseThrow();
+        assertThat(others.getStatus()).isEqualTo(RescoreJobStatus.RUNNING);
+        assertThat(others.getOwnerId()).isEqualTo("other-instance");
+
+        assertThatThrownBy(() -> catalogRescoreService.startRescore("admin@luxe.test"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        // What a request racing past the existence check runs into
+        assertThatThrownBy(() -> rescoreJobRepository.save(RescoreJob.builder()
+                .requestedBy("admin@luxe.test")
+                .ownerId("test-instance")
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private RescoreJobResponse awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        RescoreJobResponse job = catalogRescoreService.getJob(jobId);
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = catalogRescoreService.getJob(jobId);
+        }
+        assertThat(job.getFinishedAt()).as("job %d finished", jobId).isNotNull();
+        return job;
+    }
+
+    private List<Product> createProducts(String name, int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> productService.createProduct(product(name + " scarf " + i)))
+                .toList();
+    }
+
+    private int productCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class);
+    }
+
+    private long maxProductId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+    }
+
+    private Integer score(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT ai_review_score FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Woven in Como from long-staple mulberry silk");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(5);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/" + name.replace(' ', '-') + "/1.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,170 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.event.OrderLifecycleEvent;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.OrderEvent;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(OrderEventOutboxTests.RecordingListener.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderevents",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000",
+        // Dispatch only when a test asks for it; retry immediately
+        "app.order-events.poll-interval-ms=3600000",
+        "app.order-events.initial-backoff=0s",
+        "app.order-events.max-attempts=2"
+})
+class OrderEventOutboxTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventDispatcher dispatcher;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void reset() {
+        listener.received.clear();
+        listener.failing.set(false);
+        jdbcTemplate.update("DELETE FROM order_events");
+        jdbcTemplate.update("DELETE FROM order_event_dead_letters");
+    }
+
+    @Test
+    void placedOrderIsDeliveredFromTheOutboxAfterCommit() {
+        OrderDto.OrderResponse order = placeOrder("placed@luxe.test");
+
+        assertThat(listener.received).isEmpty();
+        assertThat(outboxSize()).isEqualTo(1);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(listener.received).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo(OrderEvent.EventType.ORDER_PLACED);
+            assertThat(event.orderId()).isEqualTo(order.getId());
+            assertThat(event.userEmail()).isEqualTo("placed@luxe.test");
+            assertThat(event.eventId()).isNotNull();
+        });
+        assertThat(outboxSize()).isZero();
+    }
+
+    @Test
+    void statusChangeRecordsThePreviousStatus() {
+        OrderDto.OrderResponse order = placeOrder("status@luxe.test");
+        orderService.updateOrderStatus(order.getId(), "shipped");
+
+        dispatcher.dispatchBatch();
+
+        assertThat(listener.received).extracting(OrderLifecycleEvent::type)
+                .containsExactly(OrderEvent.EventType.ORDER_PLACED, OrderEvent.EventType.ORDER_STATUS_CHANGED);
+        assertThat(listener.received.get(1).previousStatus()).isEqualTo("PENDING");
+        assertThat(listener.received.get(1).status()).isEqualTo("SHIPPED");
+    }
+
+    @Test
+    void failingEventIsRetriedThenDeadLettered() {
+        placeOrder("failing@luxe.test");
+        listener.failing.set(true);
+
+        dispatcher.dispatchBatch();
+        assertThat(outboxSize()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM order_events", Integer.class)).isEqualTo(1);
+
+        dispatcher.dispatchBatch();
+        assertThat(outboxSize()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_event_dead_letters WHERE attempts = 2", Integer.class))
+                .isEqualTo(1);
+    }
+
+    private OrderDto.OrderResponse placeOrder(String email) {
+        Product product = productService.createProduct(product());
+        User shopper = userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        cartItemRepository.save(CartItem.builder().user(shopper).product(product).quantity(1).build());
+
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("3 Jermyn Street");
+        return orderService.placeOrder(email, request);
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_events", Integer.class);
+    }
+
+    private ProductDto product() {
+        ProductDto dto = new ProductDto();
+        dto.setName("Oxford shirt");
+        dto.setDescription("Two-fold Egyptian cotton");
+        dto.setPrice(new BigDecimal("210.00"));
+        dto.setStock(10);
+        dto.setCategory("Clothing");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/oxford/1.jpg"));
+        return dto;
+    }
+
+    @TestConfiguration
+    static class RecordingListener {
+
+        final List<OrderLifecycleEvent> received = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @EventListener
+        void on(OrderLifecycleEvent event) {
+            if (failing.get()) {
+                throw new IllegalStateException("Mail server unavailable");
+            }
+            received.add(event);
+        }
+    }
+}
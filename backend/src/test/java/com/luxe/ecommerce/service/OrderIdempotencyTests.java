@@ -0,0 +1,163 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.OrderRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class OrderIdempotencyTests {
+
+    private static final int DUPLICATES = 8;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentDuplicatesShareOneOrder() throws Exception {
+        User shopper = shopperWithCart("double-click@luxe.test");
+        OrderDto.CreateOrderRequest request = request("1 Savile Row");
+
+        ExecutorService pool = Executors.newFixedThreadPool(DUPLICATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderIdempotencyService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < DUPLICATES; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return orderIdempotencyService.placeOrder(shopper.getEmail(), "checkout-1", request);
+            }));
+        }
+        start.countDown();
+
+        List<OrderIdempotencyService.Result> outcomes = new ArrayList<>();
+        for (Future<OrderIdempotencyService.Result> result : results) {
+            outcomes.add(result.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertThat(outcomes).extracting(outcome -> outcome.response().getId()).containsOnly(outcomes.get(0).response().getId());
+        assertThat(outcomes).filteredOn(outcome -> !outcome.replayed()).hasSize(1);
+        assertThat(orderRepository.findByUserOrderByCreatedAtDesc(shopper, Pageable.unpaged()).getTotalElements())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void completedKeyReplaysTheStoredOrder() {
+        User shopper = shopperWithCart("retry@luxe.test");
+        OrderDto.CreateOrderRequest request = request("2 Savile Row");
+
+        OrderIdempotencyService.Result first = orderIdempotencyService.placeOrder(shopper.getEmail(), "checkout-2", request);
+        OrderIdempotencyService.Result retry = orderIdempotencyService.placeOrder(shopper.getEmail(), "checkout-2", request);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().getId()).isEqualTo(first.response().getId());
+        assertThat(retry.response().getItems()).hasSize(1);
+
+        assertThatThrownBy(() -> orderIdempotencyService.placeOrder(shopper.getEmail(), "checkout-2", request("Elsewhere")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    void keyPastItsTtlIsNotReplayedBeforeThePurge() {
+        User shopper = shopperWithCart("returning@luxe.test");
+        jdbcTemplate.update("""
+                INSERT INTO order_idempotency_keys (user_email, idempotency_key, request_hash, order_id, response_json, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, shopper.getEmail(), "checkout-3", "0".repeat(64), 404L, "{\"id\":404}",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)));
+
+        OrderIdempotencyService.Result result = orderIdempotencyService.placeOrder(shopper.getEmail(), "checkout-3", request("3 Savile Row"));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.response().getId()).isNotEqualTo(404L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT order_id FROM order_idempotency_keys WHERE user_email = ? AND idempotency_key = ?",
+                Long.class, shopper.getEmail(), "checkout-3")).isEqualTo(result.response().getId());
+    }
+
+    private User shopperWithCart(String email) {
+        Product product = productService.createProduct(product());
+        User shopper = userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        cartItemRepository.save(CartItem.builder().user(shopper).product(product).quantity(1).build());
+        return shopper;
+    }
+
+    private OrderDto.CreateOrderRequest request(String address) {
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress(address);
+        return request;
+    }
+
+    private ProductDto product() {
+        ProductDto dto = new ProductDto();
+        dto.setName("Tailored blazer");
+        dto.setDescription("Super 120s wool, half-canvassed");
+        dto.setPrice(new BigDecimal("890.00"));
+        dto.setStock(5);
+        dto.setCategory("Clothing");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/blazer/1.jpg"));
+        return dto;
+    }
+}
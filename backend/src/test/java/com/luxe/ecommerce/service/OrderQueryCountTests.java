@@ -0,0 +1,144 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.OrderItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.OrderRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderquerycount",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class OrderQueryCountTests {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void orderHistoryStatementCountDoesNotGrowWithOrdersOrItems() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            products.add(productService.createProduct(product("Cufflinks " + i)));
+        }
+        String few = customerWithOrders("few@luxe.test", 2, products);
+        String many = customerWithOrders("many@luxe.test", 15, products);
+
+        long fewCount = statementsFor(() -> orderService.getUserOrders(few, PageRequest.of(0, 20)).getContent(), 2);
+        long manyCount = statementsFor(() -> orderService.getUserOrders(many, PageRequest.of(0, 20)).getContent(), 15);
+        assertThat(manyCount).isEqualTo(fewCount);
+        assertThat(fewCount).isLessThanOrEqualTo(3);
+
+        long cursorCount = statementsFor(() -> orderService.getUserOrdersAfter(many, null, 10).getContent(), 10);
+        assertThat(cursorCount).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void historyShowsProductDetailsAsPurchased() {
+        Product product = productService.createProduct(product("Signet ring"));
+        String email = customerWithOrders("renamed@luxe.test", 1, List.of(product));
+
+        ProductDto renamed = product("Signet ring (2027 edition)");
+        productService.updateProduct(product.getId(), renamed);
+
+        OrderDto.OrderResponse order = orderService.getUserOrders(email, PageRequest.of(0, 20)).getContent().get(0);
+        assertThat(order.getItems().get(0).getProductName()).isEqualTo("Signet ring");
+    }
+
+    private long statementsFor(Supplier<List<OrderDto.OrderResponse>> call, int expectedOrders) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderDto.OrderResponse> orders = call.get();
+        assertThat(orders).hasSize(expectedOrders);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getItems()).allSatisfy(item ->
+                assertThat(item.getProductName()).isNotBlank()));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String customerWithOrders(String email, int orders, List<Product> products) {
+        User customer = userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Customer")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        for (int i = 0; i < orders; i++) {
+            Order order = Order.builder()
+                    .user(customer)
+                    .totalAmount(new BigDecimal("100.00"))
+                    .shippingAddress("4 Burlington Arcade")
+                    .paymentMethod("COD")
+                    .status(Order.OrderStatus.PENDING)
+                    .build();
+            for (Product product : products) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .product(product)
+                        .quantity(1)
+                        .price(product.getPrice())
+                        .productName(product.getName())
+                        .productImage(product.getMainImageUrl())
+                        .build());
+            }
+            orderRepository.save(order);
+        }
+        return email;
+    }
+
+    private ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Sterling silver, hand-engraved");
+        dto.setPrice(new BigDecimal("160.00"));
+        dto.setStock(10);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/" + name + "/1.jpg"));
+        return dto;
+    }
+}
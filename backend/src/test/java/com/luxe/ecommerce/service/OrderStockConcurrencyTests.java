@@ -0,0 +1,122 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.OrderRepository;
+import com.luxe.ecommerce.repository.ProductRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class OrderStockConcurrencyTests {
+
+    private static final int STOCK = 10;
+    private static final int BUYERS = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void concurrentCheckoutsOfOneSkuNeverOversell() throws Exception {
+        Product product = productService.createProduct(hotProduct());
+        List<String> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            User buyer = userRepository.save(User.builder()
+                    .email("buyer" + i + "@luxe.test")
+                    .password("secret")
+                    .fullName("Buyer " + i)
+                    .role(Role.USER)
+                    .enabled(true)
+                    .build());
+            cartItemRepository.save(CartItem.builder().user(buyer).product(product).quantity(1).build());
+            buyers.add(buyer.getEmail());
+        }
+
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("1 Flash Sale Lane");
+
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (String email : buyers) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.placeOrder(email, request);
+                    return true;
+                } catch (RuntimeException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int placed = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(60, TimeUnit.SECONDS)) {
+                placed++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(placed).isEqualTo(STOCK);
+        assertThat(orderRepository.count()).isEqualTo(STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+    }
+
+    private ProductDto hotProduct() {
+        ProductDto dto = new ProductDto();
+        dto.setName("Limited edition tote");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(STOCK);
+        dto.setCategory("Bags");
+        dto.setBrand("Luxe");
+        dto.setSku("TOTE-LTD-1");
+        return dto;
+    }
+}
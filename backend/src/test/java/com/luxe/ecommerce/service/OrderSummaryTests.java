@@ -0,0 +1,155 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CursorPage;
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Order;
+import com.luxe.ecommerce.model.OrderItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.OrderRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordersummaries",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class OrderSummaryTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void placedOrdersArePagedNewestFirst() {
+        User shopper = shopper("pages@luxe.test");
+        Product product = productService.createProduct(product());
+        List<Long> placed = List.of(
+                placeOrder(shopper, product).getId(),
+                placeOrder(shopper, product).getId(),
+                placeOrder(shopper, product).getId());
+
+        CursorPage<OrderDto.OrderSummaryResponse> first = orderSummaryService.getUserSummaries(shopper.getEmail(), null, 2);
+        assertThat(first.getContent()).extracting(OrderDto.OrderSummaryResponse::getId)
+                .containsExactly(placed.get(2), placed.get(1));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent().get(0).getItemCount()).isEqualTo(1);
+        assertThat(first.getContent().get(0).getThumbnailUrl()).isEqualTo(product.getMainImageUrl());
+        assertThat(first.getContent().get(0).getTotalAmount()).isEqualByComparingTo("90.00");
+
+        CursorPage<OrderDto.OrderSummaryResponse> second =
+                orderSummaryService.getUserSummaries(shopper.getEmail(), first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting(OrderDto.OrderSummaryResponse::getId).containsExactly(placed.get(0));
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void statusChangesReachTheSummary() {
+        User shopper = shopper("status@luxe.test");
+        OrderDto.OrderResponse order = placeOrder(shopper, productService.createProduct(product()));
+
+        orderService.updateOrderStatus(order.getId(), "shipped");
+
+        assertThat(orderSummaryService.getUserSummaries(shopper.getEmail(), null, 10).getContent())
+                .singleElement()
+                .satisfies(summary -> assertThat(summary.getStatus()).isEqualTo("SHIPPED"));
+    }
+
+    @Test
+    void ordersWithoutSummaryAreBackfilled() {
+        User shopper = shopper("legacy@luxe.test");
+        User other = shopper("other-legacy@luxe.test");
+        Product product = productService.createProduct(product());
+        Order legacy = legacyOrder(shopper, product);
+        legacyOrder(other, product);
+        assertThat(orderSummaryService.getUserSummaries(shopper.getEmail(), null, 10).getContent()).isEmpty();
+
+        orderService.updateOrderStatus(legacy.getId(), "confirmed");
+
+        assertThat(orderSummaryService.getUserSummaries(shopper.getEmail(), null, 10).getContent())
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.getStatus()).isEqualTo("CONFIRMED");
+                    assertThat(summary.getItemCount()).isEqualTo(1);
+                    assertThat(summary.getThumbnailUrl()).isEqualTo(product.getMainImageUrl());
+                });
+        // Only the changed order is backfilled on the status path
+        assertThat(orderSummaryService.getUserSummaries(other.getEmail(), null, 10).getContent()).isEmpty();
+    }
+
+    private Order legacyOrder(User shopper, Product product) {
+        Order legacy = Order.builder()
+                .user(shopper)
+                .totalAmount(new BigDecimal("180.00"))
+                .shippingAddress("1 Savile Row")
+                .paymentMethod("COD")
+                .status(Order.OrderStatus.PENDING)
+                .build();
+        // Written before the snapshot columns existed: the thumbnail comes from the product
+        legacy.getItems().add(OrderItem.builder().order(legacy).product(product).quantity(2).price(product.getPrice()).build());
+        return orderRepository.save(legacy);
+    }
+
+    private OrderDto.OrderResponse placeOrder(User shopper, Product product) {
+        cartItemRepository.save(CartItem.builder().user(shopper).product(product).quantity(1).build());
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("7 Old Bond Street");
+        return orderService.placeOrder(shopper.getEmail(), request);
+    }
+
+    private User shopper(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    private ProductDto product() {
+        ProductDto dto = new ProductDto();
+        dto.setName("Silk pocket square");
+        dto.setDescription("Hand-rolled edges");
+        dto.setPrice(new BigDecimal("90.00"));
+        dto.setStock(10);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/pocket-square/1.jpg"));
+        return dto;
+    }
+}
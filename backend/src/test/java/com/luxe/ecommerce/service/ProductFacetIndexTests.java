@@ -0,0 +1,167 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.dto.CatalogDto;
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:facetindex",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class ProductFacetIndexTests {
+
+    private static final PageRequest CHEAPEST_FIRST = PageRequest.of(0, 10, Sort.by("price").ascending());
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void filtersAndCountsEachFacetAgainstTheOtherSelections() {
+        productService.createProduct(product("Scarf", "Maison Alba", "Accessories", "3000.00", 4.6, 3));
+        productService.createProduct(product("Belt", "Maison Alba", "Accessories", "8000.00", 3.2, 0));
+        productService.createProduct(product("Loafers", "Maison Alba", "Shoes", "15000.00", 4.1, 5));
+        productService.createProduct(product("Tote", "Casa Brera", "Bags", "60000.00", 4.9, 2));
+
+        CatalogDto.FilteredProductsResponse response = productService.filterProducts(
+                filter(Set.of("Maison Alba", "Casa Brera"), Set.of("Accessories"), null, 4, false), CHEAPEST_FIRST);
+
+        assertThat(names(response)).containsExactly("Scarf");
+        CatalogDto.Facets facets = response.getFacets();
+        // Brand counts ignore the brand selection: Casa Brera has no 4+ accessories, but stays listed as selected
+        assertThat(facets.getBrands()).extracting(CatalogDto.FacetCount::getValue, CatalogDto.FacetCount::getCount)
+                .contains(tuple("Maison Alba", 1L), tuple("Casa Brera", 0L));
+        // Category counts ignore the category selection
+        assertThat(facets.getCategories()).extracting(CatalogDto.FacetCount::getValue, CatalogDto.FacetCount::getCount)
+                .containsExactly(tuple("Accessories", 1L), tuple("Bags", 1L), tuple("Shoes", 1L));
+        assertThat(facets.getRatings()).extracting(CatalogDto.FacetCount::getValue, CatalogDto.FacetCount::getCount)
+                .containsExactly(tuple("4", 1L), tuple("3", 2L), tuple("2", 2L), tuple("1", 2L));
+        assertThat(facets.getPriceRanges()).extracting(CatalogDto.FacetCount::getValue, CatalogDto.FacetCount::getCount)
+                .contains(tuple("0-5000", 1L), tuple("5000-10000", 0L));
+        assertThat(facets.getInStock()).isEqualTo(1);
+
+        CatalogDto.FilteredProductsResponse priced = productService.filterProducts(
+                filter(Set.of("Maison Alba"), null, Set.of("5000-10000", "10000-25000"), null, true), CHEAPEST_FIRST);
+        assertThat(names(priced)).containsExactly("Loafers");
+        assertThat(priced.getProducts().getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void followsProductAndStockChanges() {
+        Product clutch = productService.createProduct(product("Clutch", "Atelier Verde", "Bags", "9000.00", 4.5, 1));
+        Product wallet = productService.createProduct(product("Wallet", "Atelier Verde", "Accessories", "4000.00", 4.0, 4));
+        ProductFacetIndex.Filter inStock = filter(Set.of("Atelier Verde"), null, null, null, true);
+
+        assertThat(names(productService.filterProducts(inStock, CHEAPEST_FIRST))).containsExactly("Wallet", "Clutch");
+
+        User shopper = userRepository.save(User.builder()
+                .email("facets@luxe.test")
+                .password("secret")
+                .fullName("Facet Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        cartItemRepository.save(CartItem.builder().user(shopper).product(clutch).quantity(1).build());
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("12 Savile Row");
+        OrderDto.OrderResponse order = orderService.placeOrder(shopper.getEmail(), request);
+
+        assertThat(names(productService.filterProducts(inStock, CHEAPEST_FIRST))).containsExactly("Wallet");
+
+        orderService.updateOrderStatus(order.getId(), "cancelled");
+        productService.updateProduct(wallet.getId(), product("Wallet", "Atelier Verde", "Accessories", "120000.00", 4.0, 4));
+
+        CatalogDto.FilteredProductsResponse repriced = productService.filterProducts(
+                filter(Set.of("Atelier Verde"), null, Set.of("100000+"), null, true), CHEAPEST_FIRST);
+        assertThat(names(repriced)).containsExactly("Wallet");
+
+        productService.deleteProduct(wallet.getId());
+
+        assertThat(names(productService.filterProducts(inStock, CHEAPEST_FIRST))).containsExactly("Clutch");
+    }
+
+    @Test
+    void rejectsUnknownPriceRangesAndSorts() {
+        assertThatThrownBy(() -> productService.filterProducts(filter(null, null, Set.of("1-2"), null, false), CHEAPEST_FIRST))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> productService.filterProducts(filter(null, null, null, null, false),
+                PageRequest.of(0, 10, Sort.by("stock"))))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private List<String> names(CatalogDto.FilteredProductsResponse response) {
+        return response.getProducts().getContent().stream()
+                .map(this::name)
+                .toList();
+    }
+
+    private String name(ProductJson product) {
+        try {
+            JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(product));
+            return json.get("name").asText();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ProductFacetIndex.Filter filter(Set<String> brands, Set<String> categories, Set<String> priceRanges,
+                                            Integer minRating, boolean inStockOnly) {
+        return new ProductFacetIndex.Filter(brands, categories, priceRanges, minRating, inStockOnly);
+    }
+
+    private ProductDto product(String name, String brand, String category, String price, double rating, int stock) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Made in Milan");
+        dto.setPrice(new BigDecimal(price));
+        dto.setStock(stock);
+        dto.setCategory(category);
+        dto.setBrand(brand);
+        dto.setRating(rating);
+        dto.setImages(List.of("https://cdn.example.com/" + name + "/1.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,90 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.model.ImportJob;
+import com.luxe.ecommerce.model.ImportJob.ImportJobStatus;
+import com.luxe.ecommerce.repository.ImportJobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importleases",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000",
+        "app.instance-id=test-instance",
+        // Heartbeats only run when a test calls them
+        "app.jobs.heartbeat-interval-ms=3600000"
+})
+class ProductImportJobLeaseTests {
+
+    @Autowired
+    private ProductImportJobService productImportJobService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @TempDir
+    private Path spoolDir;
+
+    @Test
+    void restartResumesOwnJobsButNotJobsLeasedByALiveInstance() throws Exception {
+        Path othersUpload = Files.writeString(spoolDir.resolve("other.csv"), "name,price\n");
+        ImportJob othersJob = runningJob("other-instance", LocalDateTime.now().plusMinutes(10), othersUpload);
+        ImportJob ownJob = runningJob("test-instance", LocalDateTime.now().plusMinutes(10), spoolDir.resolve("gone.csv"));
+
+        productImportJobService.resumeInterruptedJobs();
+
+        ImportJob others = importJobRepository.findById(othersJob.getId()).orElseThrow();
+        assertThat(others.getStatus()).isEqualTo(ImportJobStatus.RUNNING);
+        assertThat(others.getOwnerId()).isEqualTo("other-instance");
+        assertThat(Files.exists(othersUpload)).isTrue();
+
+        // Picked up again, then failed only because its upload is missing
+        ImportJob own = importJobRepository.findById(ownJob.getId()).orElseThrow();
+        assertThat(own.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(own.getErrorMessage()).isEqualTo("Uploaded file is no longer available");
+    }
+
+    @Test
+    void heartbeatTakesOverJobsWhoseLeaseExpired() {
+        ImportJob abandoned = runningJob("crashed-instance", LocalDateTime.now().minusMinutes(1), spoolDir.resolve("lost.csv"));
+
+        productImportJobService.heartbeat();
+
+        ImportJob job = importJobRepository.findById(abandoned.getId()).orElseThrow();
+        assertThat(job.getOwnerId()).isEqualTo("test-instance");
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+    }
+
+    @Test
+    void cancelFlagOfAMissingJobIsNull() {
+        assertThat(importJobRepository.isCancelRequested(Long.MAX_VALUE)).isNull();
+    }
+
+    private ImportJob runningJob(String owner, LocalDateTime leaseExpiresAt, Path spoolPath) {
+        return importJobRepository.save(ImportJob.builder()
+                .status(ImportJobStatus.RUNNING)
+                .fileName(spoolPath.getFileName().toString())
+                .spoolPath(spoolPath.toString())
+                .requestedBy("admin@luxe.test")
+                .ownerId(owner)
+                .leaseExpiresAt(leaseExpiresAt)
+                .startedAt(LocalDateTime.now().minusMinutes(5))
+                .build());
+    }
+}
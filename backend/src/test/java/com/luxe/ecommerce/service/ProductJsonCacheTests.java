@@ -0,0 +1,135 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.dto.CursorPage;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productjsoncache",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class ProductJsonCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void publicJsonLeavesOutInternalFields() throws Exception {
+        Product product = productService.createProduct(product("Opera gloves", "SKU-GLOVES"));
+        product.setAdminNotes("Supplier invoice pending");
+        product.setAiReviewSummary("Complete listing");
+        productRepository.save(product);
+
+        JsonNode json = toTree(productService.getById(product.getId()));
+
+        assertThat(json.get("name").asText()).isEqualTo("Opera gloves");
+        assertThat(json.get("mainImageUrl").asText()).isEqualTo("https://cdn.example.com/SKU-GLOVES/1.jpg");
+        assertThat(json.get("images")).hasSize(2);
+        assertThat(json.has("adminNotes")).isFalse();
+        assertThat(json.has("aiReviewSummary")).isFalse();
+        assertThat(json.has("approvalStatus")).isFalse();
+    }
+
+    @Test
+    void updatesAndDeletesAreNotServedStale() throws Exception {
+        Product product = productService.createProduct(product("Velvet slippers", "SKU-SLIPPERS"));
+        assertThat(toTree(productService.getById(product.getId())).get("price").decimalValue()).isEqualByComparingTo("450.00");
+
+        ProductDto update = product("Velvet slippers", "SKU-SLIPPERS");
+        update.setPrice(new BigDecimal("395.00"));
+        productService.updateProduct(product.getId(), update);
+
+        assertThat(toTree(productService.getById(product.getId())).get("price").decimalValue()).isEqualByComparingTo("395.00");
+
+        productService.deleteProduct(product.getId());
+
+        assertThatThrownBy(() -> productService.getById(product.getId())).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void pagesStitchedFromCachedJsonAreValidAndOrdered() throws Exception {
+        ProductDto brooch = product("Pearl brooch", "SKU-BROOCH");
+        brooch.setDescription("From the Venetian atelier");
+        ProductDto tie = product("Silk tie", "SKU-TIE");
+        tie.setDescription("Woven in the Venetian atelier");
+        Product first = productService.createProduct(brooch);
+        Product second = productService.createProduct(tie);
+        productService.getById(first.getId());
+
+        Page<ProductJson> page = productService.searchProducts("venetian", PageRequest.of(0, 10, Sort.by("id")));
+        JsonNode content = toTree(page).get("content");
+
+        assertThat(content).hasSize(2);
+        assertThat(content.get(0).get("id").asLong()).isEqualTo(first.getId());
+        assertThat(content.get(1).get("id").asLong()).isEqualTo(second.getId());
+    }
+
+    @Test
+    void cursorPagesWalkTheNewestFirstListing() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String sku : List.of("SKU-HAT-1", "SKU-HAT-2", "SKU-HAT-3")) {
+            ProductDto hat = product("Felt hat", sku);
+            hat.setCategory("Hats");
+            ids.add(productService.createProduct(hat).getId());
+        }
+
+        CursorPage<ProductJson> first = productService.getProductsAfter("Hats", null, 2);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(toTree(first.getContent()).findValuesAsText("sku")).containsExactly("SKU-HAT-3", "SKU-HAT-2");
+
+        CursorPage<ProductJson> second = productService.getProductsAfter("Hats", first.getNextCursor(), 2);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getContent()).extracting(ProductJson::id).containsExactly(ids.get(0));
+    }
+
+    private JsonNode toTree(Object value) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(value));
+    }
+
+    private ProductDto product(String name, String sku) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Made in Florence");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(5);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setSku(sku);
+        dto.setImages(List.of("https://cdn.example.com/" + sku + "/1.jpg", "https://cdn.example.com/" + sku + "/2.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,126 @@
+package com.luxe.ecommerce.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.ProductJson;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class ProductQueryCountTests {
+
+    private static final int CATALOG_SIZE = 30;
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedCatalog() {
+        if (productRepository.count() == 0) {
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                productService.createProduct(product("Silk scarf " + i, "Accessories"));
+            }
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        productJsonCache.evictAll(productRepository.findAll().stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void publicListingStatementCountDoesNotGrowWithPageSize() throws Exception {
+        long small = statementsFor(() -> productService.getAllProducts(PageRequest.of(0, 4, NEWEST_FIRST)));
+        long large = statementsFor(() -> productService.getAllProducts(PageRequest.of(0, 24, NEWEST_FIRST)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(small).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void categoryListingStatementCountDoesNotGrowWithPageSize() throws Exception {
+        long small = statementsFor(() -> productService.getByCategory("Accessories", PageRequest.of(0, 4, NEWEST_FIRST)));
+        long large = statementsFor(() -> productService.getByCategory("Accessories", PageRequest.of(0, 24, NEWEST_FIRST)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(small).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void searchStatementCountDoesNotGrowWithPageSize() throws Exception {
+        long small = statementsFor(() -> productService.searchProducts("silk", PageRequest.of(0, 4, NEWEST_FIRST)));
+        long large = statementsFor(() -> productService.searchProducts("silk", PageRequest.of(0, 24, NEWEST_FIRST)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(small).isLessThanOrEqualTo(3);
+    }
+
+    private long statementsFor(Supplier<Page<ProductJson>> call) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ProductJson> page = call.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsBytes(page)).get("content");
+        assertThat(content).hasSize(page.getNumberOfElements());
+        content.forEach(product -> assertThat(product.get("images")).hasSize(2));
+        return statements;
+    }
+
+    private ProductDto product(String name, String category) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Hand-rolled mulberry silk");
+        dto.setPrice(new BigDecimal("120.00"));
+        dto.setStock(10);
+        dto.setCategory(category);
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/" + name + "/1.jpg", "https://cdn.example.com/" + name + "/2.jpg"));
+        return dto;
+    }
+}
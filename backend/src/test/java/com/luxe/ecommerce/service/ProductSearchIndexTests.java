@@ -0,0 +1,93 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:searchindex",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class ProductSearchIndexTests {
+
+    private static final PageRequest BY_NAME = PageRequest.of(0, 10, Sort.by("name"));
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenizesOnAnythingButLettersAndDigits() {
+        assertThat(ProductSearchIndex.tokenize("Hand-Stitched  Café TOTE, 2024"))
+                .containsExactly("hand", "stitched", "café", "tote", "2024");
+        assertThat(ProductSearchIndex.tokenize("  -- ")).isEmpty();
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void matchesEveryTermAsAPrefix() {
+        Product scarf = productService.createProduct(product("Silk evening scarf", "Maison Alba"));
+        Product tie = productService.createProduct(product("Silk tie", "Casa Brera"));
+        Product wool = productService.createProduct(product("Wool scarf", "Casa Brera"));
+
+        assertThat(search("scarf")).containsExactly(scarf.getId(), wool.getId());
+        assertThat(search("SIL sca")).containsExactly(scarf.getId());
+        assertThat(search("casa silk")).containsExactly(tie.getId());
+        assertThat(search("silk cashmere")).isEmpty();
+        assertThat(search("--")).isEmpty();
+    }
+
+    @Test
+    void rebuildPicksUpWritesThatBypassedThisInstance() {
+        Product product = productService.createProduct(product("Linen shirt", "Atelier Verde"));
+
+        // Simulates a rename committed by another instance, whose change events never reach this one
+        jdbcTemplate.update("UPDATE products SET name = ? WHERE id = ?", "Poplin shirt", product.getId());
+        assertThat(search("poplin")).isEmpty();
+
+        productSearchIndex.rebuild();
+
+        assertThat(search("poplin")).containsExactly(product.getId());
+        assertThat(search("linen")).isEmpty();
+    }
+
+    private List<Long> search(String query) {
+        return productSearchIndex.search(query, BY_NAME).orElseThrow().getContent();
+    }
+
+    private ProductDto product(String name, String brand) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Woven in Como");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(5);
+        dto.setCategory("Accessories");
+        dto.setBrand(brand);
+        dto.setImages(List.of("https://cdn.example.com/" + name.replace(' ', '-') + "/1.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,220 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.dto.SellerDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.ProductApprovalStatus;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.SellerApprovalStatus;
+import com.luxe.ecommerce.model.SellerProfile;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.ProductRepository;
+import com.luxe.ecommerce.repository.ProductReviewRepository;
+import com.luxe.ecommerce.repository.SellerProfileRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:secondlevelcache",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000"
+})
+class SecondLevelCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MarketplaceAdminService marketplaceAdminService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductReviewRepository productReviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerProfileRepository sellerProfileRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void userAndSellerProfileLookupsAreServedFromTheCache() {
+        User seller = user("cached-seller@luxe.test", Role.SELLER);
+        sellerProfileRepository.save(SellerProfile.builder()
+                .user(seller)
+                .businessName("Maison Cached")
+                .status(SellerApprovalStatus.PENDING_REVIEW)
+                .build());
+        userRepository.findByEmail(seller.getEmail());
+        sellerProfileRepository.findByUser(seller);
+
+        statistics.clear();
+        assertThat(userRepository.findByEmail(seller.getEmail())).get().extracting(User::getId).isEqualTo(seller.getId());
+        assertThat(sellerProfileRepository.findByUser(seller)).get()
+                .extracting(SellerProfile::getBusinessName).isEqualTo("Maison Cached");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "user-email").gauge().value()).isPositive();
+    }
+
+    @Test
+    void sellerApprovalIsVisibleThroughTheCachedProfile() {
+        User seller = user("approved-seller@luxe.test", Role.SELLER);
+        SellerProfile profile = sellerProfileRepository.save(SellerProfile.builder()
+                .user(seller)
+                .businessName("Maison Pending")
+                .status(SellerApprovalStatus.PENDING_REVIEW)
+                .build());
+        sellerProfileRepository.findByUser(seller);
+
+        marketplaceAdminService.reviewSeller(profile.getId(), decision(true));
+
+        assertThat(sellerProfileRepository.findByUser(seller)).get()
+                .extracting(SellerProfile::getStatus).isEqualTo(SellerApprovalStatus.APPROVED);
+    }
+
+    @Test
+    void productApprovalIsVisibleThroughTheCachedEntity() {
+        Product product = productService.createProduct(product("Pending clutch", "SKU-PENDING", 5));
+        product.setApprovalStatus(ProductApprovalStatus.PENDING_REVIEW);
+        productRepository.save(product);
+        assertThat(productRepository.findById(product.getId())).get()
+                .extracting(Product::getApprovalStatus).isEqualTo(ProductApprovalStatus.PENDING_REVIEW);
+        assertThatThrownBy(() -> productService.getById(product.getId())).isInstanceOf(ResponseStatusException.class);
+
+        marketplaceAdminService.reviewProduct(product.getId(), decision(true));
+
+        assertThat(productRepository.findById(product.getId())).get()
+                .extracting(Product::getApprovalStatus).isEqualTo(ProductApprovalStatus.APPROVED);
+        assertThat(productService.getById(product.getId()).id()).isEqualTo(product.getId());
+    }
+
+    @Test
+    void stockWrittenWithJdbcIsNotServedStale() {
+        Product product = productService.createProduct(product("Silk scarf", "SKU-SCARF", 10));
+        productRepository.findById(product.getId());
+        statistics.clear();
+        assertThat(productRepository.findById(product.getId())).get().extracting(Product::getStock).isEqualTo(10);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        User shopper = user("stock@luxe.test", Role.USER);
+        cartItemRepository.save(CartItem.builder().user(shopper).product(product).quantity(3).build());
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("12 Savile Row");
+        OrderDto.OrderResponse order = orderService.placeOrder(shopper.getEmail(), request);
+
+        assertThat(productRepository.findById(product.getId())).get().extracting(Product::getStock).isEqualTo(7);
+
+        orderService.updateOrderStatus(order.getId(), "cancelled");
+
+        assertThat(productRepository.findById(product.getId())).get().extracting(Product::getStock).isEqualTo(10);
+    }
+
+    @Test
+    void reviewScoresWrittenWithJdbcAreNotServedStale() {
+        Product product = productService.createProduct(product("Leather tote", "SKU-TOTE", 4));
+        productRepository.findById(product.getId());
+
+        transactionTemplate.executeWithoutResult(status -> productReviewRepository.updateReviews(List.of(Product.builder()
+                .id(product.getId())
+                .aiReviewScore(91)
+                .aiReviewSummary("Complete listing")
+                .aiReviewIssues("[]")
+                .aiRecommendation("APPROVE")
+                .build())));
+
+        assertThat(productRepository.findById(product.getId())).get().extracting(Product::getAiReviewScore).isEqualTo(91);
+    }
+
+    @Test
+    void skuLookupFollowsSkuChanges() {
+        Product product = productService.createProduct(product("Cufflinks", "SKU-OLD", 2));
+        assertThat(productRepository.findBySku("SKU-OLD")).isPresent();
+
+        productService.updateProduct(product.getId(), product("Cufflinks", "SKU-NEW", 2));
+
+        assertThat(productRepository.findBySku("SKU-OLD")).isEmpty();
+        assertThat(productRepository.findBySku("SKU-NEW")).get().extracting(Product::getId).isEqualTo(product.getId());
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Cache Test")
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+
+    private SellerDto.ReviewDecisionRequest decision(boolean approved) {
+        SellerDto.ReviewDecisionRequest request = new SellerDto.ReviewDecisionRequest();
+        request.setApproved(approved);
+        return request;
+    }
+
+    private ProductDto product(String name, String sku, int stock) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Made in Florence");
+        dto.setPrice(new BigDecimal("450.00"));
+        dto.setStock(stock);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setSku(sku);
+        dto.setImages(List.of("https://cdn.example.com/" + sku + "/1.jpg"));
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.luxe.ecommerce.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuspiciousTermMatcherTests {
+
+    private final SuspiciousTermMatcher matcher =
+            SuspiciousTermMatcher.compile(List.of("fake", "replica", "copy", "dummy", "test product"));
+
+    @Test
+    void matchesTermsAnywhereIgnoringCase() {
+        assertThat(matcher.matchesAny("Genuine leather, not a REPLICA")).isTrue();
+        assertThat(matcher.matchesAny("Photocopy of the receipt included")).isTrue();
+        assertThat(matcher.matchesAny("Test Product - do not buy")).isTrue();
+        assertThat(matcher.matchesAny("fake")).isTrue();
+    }
+
+    @Test
+    void followsFailureLinksAcrossOverlappingPrefixes() {
+        // "test produc" is a dead end, but the scan must still find "copy" starting inside it
+        assertThat(matcher.matchesAny("a test producopy")).isTrue();
+        assertThat(SuspiciousTermMatcher.compile(List.of("abcd", "bce")).matchesAny("xabce")).isTrue();
+    }
+
+    @Test
+    void ignoresTextWithoutAnyTerm() {
+        assertThat(matcher.matchesAny("Hand-stitched Italian leather tote with brass hardware")).isFalse();
+        assertThat(matcher.matchesAny("test produc")).isFalse();
+        assertThat(matcher.matchesAny("")).isFalse();
+        assertThat(SuspiciousTermMatcher.compile(List.of(" ", "")).matchesAny("anything")).isFalse();
+    }
+}
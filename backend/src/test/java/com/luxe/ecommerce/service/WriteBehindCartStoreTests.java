@@ -0,0 +1,161 @@
+package com.luxe.ecommerce.service;
+
+import com.luxe.ecommerce.dto.CartDto;
+import com.luxe.ecommerce.dto.OrderDto;
+import com.luxe.ecommerce.dto.ProductDto;
+import com.luxe.ecommerce.model.CartItem;
+import com.luxe.ecommerce.model.Product;
+import com.luxe.ecommerce.model.Role;
+import com.luxe.ecommerce.model.User;
+import com.luxe.ecommerce.repository.CartItemRepository;
+import com.luxe.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehindcart",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.bootstrap-admin.enabled=false",
+        "app.jwt.secret=TestSecretKeyForJWTTokenGenerationAtLeast256BitsLong1234567890",
+        "app.jwt.expiration=86400000",
+        "app.cart.store=write-behind",
+        // Write-backs happen only when a test asks for them
+        "app.cart.write-behind.flush-interval-ms=3600000"
+})
+class WriteBehindCartStoreTests {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private WriteBehindCartStore cartStore;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Test
+    void rapidChangesAreCoalescedIntoOneWritePerLine() {
+        User shopper = shopper("coalesce@luxe.test");
+        Product scarf = productService.createProduct(product("Silk scarf"));
+        Product gloves = productService.createProduct(product("Leather gloves"));
+
+        cartService.addToCart(shopper.getEmail(), item(scarf.getId(), 1));
+        cartService.addToCart(shopper.getEmail(), item(scarf.getId(), 1));
+        CartDto.CartResponse cart = cartService.addToCart(shopper.getEmail(), item(gloves.getId(), 1));
+        Long glovesLine = cart.getItems().get(1).getId();
+        cartService.updateCartItem(shopper.getEmail(), glovesLine, 4);
+        cart = cartService.updateCartItem(shopper.getEmail(), glovesLine, 3);
+
+        assertThat(cart.getItemCount()).isEqualTo(5);
+        assertThat(cartItemRepository.findCartWithProducts(shopper.getEmail())).isEmpty();
+
+        cartStore.flushPending();
+
+        assertThat(cartItemRepository.findCartWithProducts(shopper.getEmail()))
+                .extracting(CartItem::getQuantity)
+                .containsExactly(2, 3);
+
+        cartService.updateCartItem(shopper.getEmail(), glovesLine, 0);
+        cartStore.flushPending();
+
+        assertThat(cartItemRepository.findCartWithProducts(shopper.getEmail()))
+                .extracting(line -> line.getProduct().getId())
+                .containsExactly(scarf.getId());
+    }
+
+    @Test
+    void batchOperationsApplyInOrder() {
+        User shopper = shopper("batch@luxe.test");
+        Product scarf = productService.createProduct(product("Cashmere scarf"));
+        Product belt = productService.createProduct(product("Leather belt"));
+
+        CartDto.CartResponse cart = cartService.applyOperations(shopper.getEmail(), List.of(
+                operation(CartDto.CartOperationType.ADD, scarf.getId(), 2),
+                operation(CartDto.CartOperationType.ADD, belt.getId(), 1),
+                operation(CartDto.CartOperationType.SET, scarf.getId(), 5),
+                operation(CartDto.CartOperationType.REMOVE, belt.getId(), null)));
+
+        assertThat(cart.getItems()).extracting(CartDto.CartItemResponse::getProductId).containsExactly(scarf.getId());
+        assertThat(cart.getItemCount()).isEqualTo(5);
+
+        cartStore.flushPending();
+        assertThat(cartItemRepository.findCartWithProducts(shopper.getEmail()))
+                .extracting(CartItem::getQuantity)
+                .containsExactly(5);
+    }
+
+    @Test
+    void placingAnOrderWritesPendingChangesFirst() {
+        User shopper = shopper("checkout@luxe.test");
+        Product bag = productService.createProduct(product("Weekender bag"));
+
+        cartService.addToCart(shopper.getEmail(), item(bag.getId(), 2));
+
+        OrderDto.CreateOrderRequest request = new OrderDto.CreateOrderRequest();
+        request.setShippingAddress("1 Bond Street");
+        OrderDto.OrderResponse order = orderService.placeOrder(shopper.getEmail(), request);
+
+        assertThat(order.getItems()).hasSize(1);
+        assertThat(order.getItems().get(0).getQuantity()).isEqualTo(2);
+        assertThat(cartService.getCart(shopper.getEmail()).getItems()).isEmpty();
+        assertThat(cartItemRepository.findCartWithProducts(shopper.getEmail())).isEmpty();
+    }
+
+    private User shopper(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName("Shopper")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+
+    private CartDto.CartItemRequest item(Long productId, int quantity) {
+        CartDto.CartItemRequest request = new CartDto.CartItemRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private CartDto.CartOperation operation(CartDto.CartOperationType type, Long productId, Integer quantity) {
+        CartDto.CartOperation operation = new CartDto.CartOperation();
+        operation.setOp(type);
+        operation.setProductId(productId);
+        operation.setQuantity(quantity);
+        return operation;
+    }
+
+    private ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setName(name);
+        dto.setDescription("Full-grain Italian leather");
+        dto.setPrice(new BigDecimal("480.00"));
+        dto.setStock(20);
+        dto.setCategory("Accessories");
+        dto.setBrand("Luxe");
+        dto.setImages(List.of("https://cdn.example.com/" + name + "/1.jpg"));
+        return dto;
+    }
+}
@@ -32,13 +32,19 @@ export function CartProvider({ children }) {
     setCart(res.data);
   }, []);
 
+  // operations: [{ op: 'ADD' | 'SET' | 'REMOVE', productId, itemId, quantity }], applied in one request
+  const applyOperations = useCallback(async (operations) => {
+    const res = await cartApi.batch(operations);
+    setCart(res.data);
+  }, []);
+
   const clearCart = useCallback(async () => {
     await cartApi.clear();
     setCart({ items: [], total: 0, itemCount: 0 });
   }, []);
 
   return (
-    <CartContext.Provider value={{ cart, loading, fetchCart, addToCart, updateItem, clearCart }}>
+    <CartContext.Provider value={{ cart, loading, fetchCart, addToCart, updateItem, applyOperations, clearCart }}>
       {children}
     </CartContext.Provider>
   );
@@ -17,7 +17,7 @@ import {
   FiDownload,
 } from 'react-icons/fi';
 import toast from 'react-hot-toast';
-import { getPrimaryProductImageUrl } from '../utils/productImages';
+import { getPrimaryProductImageUrl, getProductImageUrls } from '../utils/productImages';
 
 function createInitialForm(product) {
   return {
@@ -27,7 +27,7 @@ function createInitialForm(product) {
     originalPrice: product?.originalPrice ?? '',
     stock: product?.stock ?? '',
     mainImageUrl: product?.mainImageUrl || '',
-    imagesText: product?.images?.map((img) => img.imageUrl).join('\n') || '',
+    imagesText: getProductImageUrls(product).join('\n'),
     category: product?.category || '',
     brand: product?.brand || '',
     sku: product?.sku || '',
@@ -85,6 +85,7 @@ export default function AdminPage() {
   const [importing, setImporting] = useState(false);
   const [lastImportResult, setLastImportResult] = useState(null);
   const fileInputRef = useRef(null);
+  const importPollRef = useRef(null);
   const [adminAccessError, setAdminAccessError] = useState('');
 
   const handleAdminLoadError = (error, fallbackMessage) => {
@@ -134,12 +135,55 @@ export default function AdminPage() {
     loadOrders().catch((error) => handleAdminLoadError(error, 'Failed to load orders'));
     loadSellerReviews().catch((error) => handleAdminLoadError(error, 'Failed to load seller reviews'));
     loadProductReviews().catch((error) => handleAdminLoadError(error, 'Failed to load product reviews'));
+    return () => clearTimeout(importPollRef.current);
   }, []);
 
   const handleImportClick = () => {
     fileInputRef.current?.click();
   };
 
+  const finishImport = async (job) => {
+    setImporting(false);
+    await Promise.all([loadProducts(), loadStats()]);
+
+    if (job.status === 'COMPLETED') {
+      toast.success(`CSV imported: ${job.created} created, ${job.updated} updated`, {
+        style: {
+          background: '#181818',
+          color: '#C9A84C',
+          border: '1px solid #2A2A2A',
+        },
+      });
+    } else if (job.status === 'CANCELLED') {
+      toast(`Import cancelled after ${job.processed} row(s)`);
+    } else {
+      toast.error(job.errorMessage || 'Failed to import CSV');
+    }
+
+    if (job.failed > 0) {
+      toast.error(`${job.failed} row(s) failed. Review the import details below.`);
+    }
+  };
+
+  const pollImportJob = (jobId) => {
+    importPollRef.current = setTimeout(async () => {
+      try {
+        const response = await adminApi.getImportJob(jobId);
+        const job = response.data;
+        setLastImportResult(job);
+
+        if (job.status === 'QUEUED' || job.status === 'RUNNING') {
+          pollImportJob(jobId);
+        } else {
+          await finishImport(job);
+        }
+      } catch (error) {
+        setImporting(false);
+        toast.error(error.response?.data?.message || 'Lost track of the CSV import');
+      }
+    }, 1000);
+  };
+
   const handleImportChange = async (event) => {
     const file = event.target.files?.[0];
     event.target.value = '';
@@ -152,25 +196,24 @@ export default function AdminPage() {
 
     try {
       const response = await adminApi.importProductsCsv(file);
-      const result = response.data;
-      setLastImportResult(result);
-      await Promise.all([loadProducts(), loadStats()]);
+      setLastImportResult(response.data);
+      pollImportJob(response.data.id);
+    } catch (error) {
+      setImporting(false);
+      toast.error(error.response?.data?.message || 'Failed to import CSV');
+    }
+  };
 
-      toast.success(`CSV imported: ${result.created} created, ${result.updated} updated`, {
-        style: {
-          background: '#181818',
-          color: '#C9A84C',
-          border: '1px solid #2A2A2A',
-        },
-      });
+  const handleCancelImport = async () => {
+    if (!lastImportResult?.id) {
+      return;
+    }
 
-      if (result.failed > 0) {
-        toast.error(`${result.failed} row(s) failed. Review the import details below.`);
-      }
+    try {
+      const response = await adminApi.cancelImportJob(lastImportResult.id);
+      setLastImportResult(response.data);
     } catch (error) {
-      toast.error(error.response?.data?.message || 'Failed to import CSV');
-    } finally {
-      setImporting(false);
+      toast.error(error.response?.data?.message || 'Failed to cancel import');
     }
   };
 
@@ -462,6 +505,15 @@ export default function AdminPage() {
               <button onClick={handleImportClick} disabled={importing} className="btn-outline flex items-center gap-2">
                 <FiUpload size={14} /> {importing ? 'Importing...' : 'Import CSV'}
               </button>
+              {importing && (
+                <button
+                  onClick={handleCancelImport}
+                  disabled={lastImportResult?.cancelRequested}
+                  className="btn-outline flex items-center gap-2"
+                >
+                  <FiX size={14} /> {lastImportResult?.cancelRequested ? 'Cancelling...' : 'Cancel Import'}
+                </button>
+              )}
               <button
                 onClick={() => {
                   setEditProduct(null);
@@ -483,6 +535,12 @@ export default function AdminPage() {
 
           {lastImportResult && (
             <div className="card-luxe p-4 mb-4">
+              {lastImportResult.status && (
+                <p className="font-sans text-xs tracking-widest uppercase text-gray-500 mb-3">
+                  {lastImportResult.fileName} · {lastImportResult.status}
+                  {lastImportResult.rowsPerSecond > 0 ? ` · ${lastImportResult.rowsPerSecond} rows/s` : ''}
+                </p>
+              )}
               <div className="grid grid-cols-2 md:grid-cols-4 gap-4 mb-4">
                 {[
                   { label: 'Processed', value: lastImportResult.processed },
@@ -543,8 +601,8 @@ export default function AdminPage() {
                       <span className={product.stock > 0 ? 'text-green-500' : 'text-red-500'}>{product.stock}</span>
                     </td>
                     <td className="px-4 py-3">
-                      <span className={`font-sans text-xs px-2 py-1 rounded-sm ${product.active ? 'bg-green-500/10 text-green-500' : 'bg-red-500/10 text-red-500'}`}>
-                        {product.active ? 'Active' : 'Inactive'}
+                      <span className={`font-sans text-xs px-2 py-1 rounded-sm ${product.active !== false ? 'bg-green-500/10 text-green-500' : 'bg-red-500/10 text-red-500'}`}>
+                        {product.active !== false ? 'Active' : 'Inactive'}
                       </span>
                     </td>
                     <td className="px-4 py-3">
@@ -586,7 +644,9 @@ export default function AdminPage() {
 
                 await Promise.all([loadProducts(), loadStats()]);
                 setShowProductForm(false);
-                setLastImportResult(null);
+                if (!importing) {
+                  setLastImportResult(null);
+                }
                 toast.success(editProduct ? 'Product updated' : 'Product created', {
                   style: {
                     background: '#181818',
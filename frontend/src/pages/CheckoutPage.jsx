@@ -1,6 +1,6 @@
-import { useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { orderApi } from '../services/api';
+import { cartApi, orderApi } from '../services/api';
 import { useCart } from '../context/CartContext';
 import toast from 'react-hot-toast';
 
@@ -9,13 +9,25 @@ export default function CheckoutPage() {
   const { cart, clearCart } = useCart();
   const [form, setForm] = useState({ shippingAddress: '', paymentMethod: 'COD' });
   const [loading, setLoading] = useState(false);
+  // One key per distinct order form, so double submits and retries place the order only once
+  const idempotencyKey = useRef(crypto.randomUUID());
+
+  useEffect(() => { idempotencyKey.current = crypto.randomUUID(); }, [form]);
+
+  // Hold the cart's stock while the shopper fills in the form
+  useEffect(() => {
+    if (cart.items.length === 0) return;
+    cartApi.reserve().catch(err => {
+      if (err.response?.status === 409) toast.error(err.response.data?.message || 'Some items are no longer available');
+    });
+  }, [cart.items.length]);
 
   const handleSubmit = async (e) => {
     e.preventDefault();
     if (cart.items.length === 0) { toast.error('Your cart is empty'); return; }
     setLoading(true);
     try {
-      const res = await orderApi.place(form);
+      const res = await orderApi.place(form, idempotencyKey.current);
       await clearCart();
       toast.success('Order placed successfully!', { style: { background: '#181818', color: '#C9A84C', border: '1px solid #2A2A2A' } });
       navigate(`/orders/${res.data.id}`);
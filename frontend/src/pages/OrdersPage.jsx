@@ -13,12 +13,27 @@ const STATUS_CONFIG = {
 
 export function OrdersPage() {
   const [orders, setOrders] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
 
+  // The list comes from the compact summaries; the detail page fetches the full order
   useEffect(() => {
-    orderApi.getMyOrders({ page: 0, size: 20 }).then(r => setOrders(r.data.content || [])).finally(() => setLoading(false));
+    orderApi.getSummaries({ size: 20 }).then(r => {
+      setOrders(r.data.content || []);
+      setNextCursor(r.data.nextCursor);
+    }).finally(() => setLoading(false));
   }, []);
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const r = await orderApi.getSummaries({ after: nextCursor, size: 20 });
+      setOrders(prev => [...prev, ...(r.data.content || [])]);
+      setNextCursor(r.data.nextCursor);
+    } finally { setLoadingMore(false); }
+  };
+
   if (loading) return <div className="min-h-screen flex items-center justify-center"><div className="w-8 h-8 border-2 border-gold-500 border-t-transparent rounded-full animate-spin" /></div>;
 
   return (
@@ -38,10 +53,12 @@ export function OrdersPage() {
             return (
               <Link key={order.id} to={`/orders/${order.id}`} className="card-luxe p-5 flex flex-col md:flex-row md:items-center justify-between gap-4 hover:border-gold-500/50 block">
                 <div className="flex items-start gap-4">
-                  <div className={`p-2 rounded-sm ${sc.bg}`}><Icon size={20} className={sc.color} /></div>
+                  {order.thumbnailUrl
+                    ? <img src={order.thumbnailUrl} alt="" className="w-12 h-12 object-cover rounded-sm" />
+                    : <div className={`p-2 rounded-sm ${sc.bg}`}><Icon size={20} className={sc.color} /></div>}
                   <div>
                     <p className="font-sans text-xs text-gray-500 tracking-widest uppercase mb-1">Order #{order.id}</p>
-                    <p className="font-display text-lg text-white">{order.items?.length} item{order.items?.length !== 1 ? 's' : ''}</p>
+                    <p className="font-display text-lg text-white">{order.itemCount} item{order.itemCount !== 1 ? 's' : ''}</p>
                     <p className="font-sans text-xs text-gray-500 mt-1">
                       {new Date(order.createdAt).toLocaleDateString('en-IN', { year: 'numeric', month: 'long', day: 'numeric' })}
                     </p>
@@ -54,6 +71,11 @@ export function OrdersPage() {
               </Link>
             );
           })}
+          {nextCursor && (
+            <button onClick={loadMore} disabled={loadingMore} className="btn-outline w-full">
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          )}
         </div>
       )}
     </div>
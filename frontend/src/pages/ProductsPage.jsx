@@ -4,11 +4,21 @@ import { productApi } from '../services/api';
 import ProductCard from '../components/product/ProductCard';
 import { FiFilter, FiX, FiChevronDown } from 'react-icons/fi';
 
+const PRICE_RANGE_LABELS = {
+  '0-5000': 'Under ₹5,000',
+  '5000-10000': '₹5,000 – ₹10,000',
+  '10000-25000': '₹10,000 – ₹25,000',
+  '25000-50000': '₹25,000 – ₹50,000',
+  '50000-100000': '₹50,000 – ₹1,00,000',
+  '100000+': '₹1,00,000 & above',
+};
+
 export default function ProductsPage() {
   const [searchParams, setSearchParams] = useSearchParams();
   const [products, setProducts] = useState([]);
   const [totalPages, setTotalPages] = useState(0);
   const [categories, setCategories] = useState([]);
+  const [facets, setFacets] = useState(null);
   const [loading, setLoading] = useState(false);
 
   const page = Number.parseInt(searchParams.get('page') || '0', 10);
@@ -16,6 +26,14 @@ export default function ProductsPage() {
   const search = searchParams.get('search') || '';
   const sortBy = searchParams.get('sortBy') || 'createdAt';
   const sortDir = searchParams.get('sortDir') || 'desc';
+  const brands = searchParams.getAll('brand');
+  const prices = searchParams.getAll('price');
+  const minRating = searchParams.get('minRating') || '';
+  const inStock = searchParams.get('inStock') === 'true';
+  const brandKey = brands.join('|');
+  const priceKey = prices.join('|');
+  const categoryCounts = Object.fromEntries((facets?.categories || []).map(f => [f.value, f.count]));
+  const hasFilters = Boolean(search || category || brands.length || prices.length || minRating || inStock);
 
   useEffect(() => {
     productApi.getCategories().then(r => setCategories(r.data)).catch(() => {});
@@ -23,11 +41,18 @@ export default function ProductsPage() {
 
   useEffect(() => {
     setLoading(true);
-    productApi.getAll({ page, size: 12, category, search, sortBy, sortDir })
-      .then(r => { setProducts(r.data.content || []); setTotalPages(r.data.totalPages || 0); })
+    // Text search is not faceted; everything else goes through the facet index
+    const request = search
+      ? productApi.getAll({ page, size: 12, search, sortBy, sortDir })
+        .then(r => { setFacets(null); return r.data; })
+      : productApi.filter({ page, size: 12, category, brand: brands, price: prices, minRating, inStock, sortBy, sortDir })
+        .then(r => { setFacets(r.data.facets); return r.data.products; });
+
+    request
+      .then(data => { setProducts(data.content || []); setTotalPages(data.totalPages || 0); })
       .catch(() => {})
       .finally(() => setLoading(false));
-  }, [page, category, search, sortBy, sortDir]);
+  }, [page, category, search, sortBy, sortDir, brandKey, priceKey, minRating, inStock]);
 
   const updateParams = (updates, { resetPage = true } = {}) => {
     const p = new URLSearchParams(searchParams);
@@ -47,6 +72,26 @@ export default function ProductsPage() {
     setSearchParams(p);
   };
 
+  const toggleParam = (key, value) => {
+    const p = new URLSearchParams(searchParams);
+    const values = p.getAll(key);
+    p.delete(key);
+    (values.includes(value) ? values.filter(v => v !== value) : [...values, value])
+      .forEach(v => p.append(key, v));
+    p.set('page', '0');
+    setSearchParams(p);
+  };
+
+  const facetButton = (active, label, count, onClick) => (
+    <button key={label} onClick={onClick} disabled={!active && count === 0}
+      className={`flex w-full items-center justify-between text-left font-sans text-sm py-2 px-3 mb-1 transition-colors rounded-sm
+        disabled:opacity-40 disabled:cursor-not-allowed
+        ${active ? 'bg-gold-500/10 text-gold-500' : 'text-gray-400 hover:text-white'}`}>
+      <span>{label}</span>
+      <span className="text-xs text-gray-500">{count}</span>
+    </button>
+  );
+
   return (
     <div className="max-w-7xl mx-auto px-4 py-8 page-enter">
       {/* Header */}
@@ -54,7 +99,7 @@ export default function ProductsPage() {
         <h1 className="section-title">
           {search ? `Results for "${search}"` : category ? category : 'All Products'}
         </h1>
-        {(search || category) && (
+        {hasFilters && (
           <button onClick={() => setSearchParams({})}
             className="mt-2 flex items-center gap-1 font-sans text-xs text-gray-500 hover:text-gold-500 transition-colors">
             <FiX size={12} /> Clear filters
@@ -74,13 +119,42 @@ export default function ProductsPage() {
             </button>
             {categories.map(cat => (
               <button key={cat} onClick={() => updateParams({ category: cat })}
-                className={`block w-full text-left font-sans text-sm py-2 px-3 mb-1 transition-colors rounded-sm
+                className={`flex w-full items-center justify-between text-left font-sans text-sm py-2 px-3 mb-1 transition-colors rounded-sm
                   ${category === cat ? 'bg-gold-500/10 text-gold-500' : 'text-gray-400 hover:text-white'}`}>
-                {cat}
+                <span>{cat}</span>
+                {facets && <span className="text-xs text-gray-500">{categoryCounts[cat] || 0}</span>}
               </button>
             ))}
           </div>
 
+          {facets && (
+            <>
+              {facets.brands.length > 0 && (
+                <div className="card-luxe p-4 mb-4">
+                  <h3 className="font-sans text-xs tracking-widest uppercase text-gold-500 mb-4">Brand</h3>
+                  {facets.brands.map(f => facetButton(brands.includes(f.value), f.value, f.count, () => toggleParam('brand', f.value)))}
+                </div>
+              )}
+
+              <div className="card-luxe p-4 mb-4">
+                <h3 className="font-sans text-xs tracking-widest uppercase text-gold-500 mb-4">Price</h3>
+                {facets.priceRanges.map(f => facetButton(prices.includes(f.value), PRICE_RANGE_LABELS[f.value] || f.value, f.count,
+                  () => toggleParam('price', f.value)))}
+              </div>
+
+              <div className="card-luxe p-4 mb-4">
+                <h3 className="font-sans text-xs tracking-widest uppercase text-gold-500 mb-4">Rating</h3>
+                {facets.ratings.map(f => facetButton(minRating === f.value, `${f.value}★ & up`, f.count,
+                  () => updateParams({ minRating: minRating === f.value ? '' : f.value })))}
+              </div>
+
+              <div className="card-luxe p-4 mb-4">
+                <h3 className="font-sans text-xs tracking-widest uppercase text-gold-500 mb-4">Availability</h3>
+                {facetButton(inStock, 'In stock', facets.inStock, () => updateParams({ inStock: inStock ? '' : 'true' }))}
+              </div>
+            </>
+          )}
+
           {/* Sort */}
           <div className="card-luxe p-4">
             <h3 className="font-sans text-xs tracking-widest uppercase text-gold-500 mb-4">Sort By</h3>
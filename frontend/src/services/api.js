@@ -32,9 +32,21 @@ export const authApi = {
   google:   (data) => api.post('/auth/google', data),
 };
 
+// Repeats array values (brand=a&brand=b) and drops empty ones, as the filter endpoint expects
+const toSearchParams = (params) => {
+  const search = new URLSearchParams();
+  Object.entries(params).forEach(([key, value]) => {
+    [].concat(value).forEach(v => {
+      if (v !== undefined && v !== null && v !== '' && v !== false) search.append(key, String(v));
+    });
+  });
+  return search;
+};
+
 // Products
 export const productApi = {
   getAll:       (params) => api.get('/products', { params }),
+  filter:       (params) => api.get('/products/filter', { params: toSearchParams(params) }),
   getById:      (id)     => api.get(`/products/${id}`),
   getCategories:()       => api.get('/products/categories'),
   create:       (data)   => api.post('/products', data),
@@ -47,13 +59,16 @@ export const cartApi = {
   get:    ()            => api.get('/cart'),
   add:    (data)        => api.post('/cart', data),
   update: (id, qty)     => api.put(`/cart/${id}?quantity=${qty}`),
+  batch:  (operations)  => api.patch('/cart', { operations }),
   clear:  ()            => api.delete('/cart'),
+  reserve:()            => api.post('/cart/checkout'),
 };
 
 // Orders
 export const orderApi = {
-  place:     (data)     => api.post('/orders', data),
+  place:     (data, key) => api.post('/orders', data, key ? { headers: { 'Idempotency-Key': key } } : undefined),
   getMyOrders:(params)  => api.get('/orders', { params }),
+  getSummaries:(params) => api.get('/orders/summaries', { params }),
   getById:   (id)       => api.get(`/orders/${id}`),
   getAllAdmin:(params)   => api.get('/orders/admin/all', { params }),
   updateStatus:(id, s)  => api.patch(`/orders/${id}/status`, { status: s }),
@@ -71,6 +86,8 @@ export const adminApi = {
     formData.append('file', file);
     return api.post('/admin/products/import-csv', formData);
   },
+  getImportJob: (id) => api.get(`/admin/products/import-jobs/${id}`),
+  cancelImportJob: (id) => api.post(`/admin/products/import-jobs/${id}/cancel`),
 };
 
 // Seller